@@ -0,0 +1,107 @@
+package me.icegames.iglanguages.packet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link ComponentRewriter#rewriteJson} with the {@code %lang_([^%]+)%} regex that
+ * ProtocolLibHook used before, on the sample packets in {@code src/jmh/resources/payloads}.
+ * Both sides look translations up in the same map, standing in for the per-player lookup.
+ * <p>
+ * Run with {@code mvn -P jmh test-compile exec:exec -Djmh.args=ComponentRewriterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentRewriterBenchmark {
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%lang_([^%]+)%");
+
+    @Param({"chat", "tab", "scoreboard", "book"})
+    public String payload;
+
+    private String json;
+    private ComponentRewriter.Translator translator;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = ComponentRewriterBenchmark.class.getResourceAsStream("/payloads/" + payload + ".json")) {
+            if (in == null) {
+                throw new IOException("Missing payload " + payload);
+            }
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+
+        Map<String, String> translations = new HashMap<>();
+        translations.put("rank_vip", "VIP");
+        translations.put("chat_hover_profile", "Click to message");
+        translations.put("tab_title", "Welcome to IceGames");
+        translations.put("tab_online", "Online:");
+        translations.put("tab_ping", "Ping:");
+        translations.put("tab_tps", "TPS:");
+        translations.put("tab_world", "World:");
+        translations.put("tab_balance", "Balance:");
+        translations.put("tab_rank", "Rank:");
+        translations.put("tab_kills", "Kills:");
+        translations.put("tab_deaths", "Deaths:");
+        translations.put("tab_playtime", "Playtime:");
+        translations.put("tab_party", "Party:");
+        translations.put("tab_footer_store", "store.icegames.me");
+        translations.put("tab_footer_discord", "discord.gg/icegames");
+        translations.put("sidebar_coins", "Coins:");
+        translations.put("guide_title", "Getting Started");
+        translations.put("guide_intro", "This book covers the basics of the server. Read it once, it is short.");
+        translations.put("guide_link_claims", "» Protecting your builds");
+        translations.put("guide_link_shops", "» Player shops");
+        translations.put("guide_hover_page", "Go to page");
+        translations.put("guide_footer", "Lost the book? Type /guide");
+        translator = translations::get;
+    }
+
+    /**
+     * The previous ProtocolLibHook.processJson.
+     */
+    private String regexRewrite(String input) {
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(input);
+        StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            String translation = translator.translate(matcher.group(1));
+            if (translation != null) {
+                matcher.appendReplacement(sb, Matcher.quoteReplacement(translation));
+            }
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String regex() {
+        return regexRewrite(json);
+    }
+
+    @Benchmark
+    public String rewriter() {
+        return ComponentRewriter.rewriteJson(json, translator);
+    }
+}
@@ -0,0 +1,113 @@
+package me.icegames.iglanguages.util;
+
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link MessageUtil#colorize(String)} with the implementation it replaced, which sent
+ * every message through MiniMessage and then colored it with a regex and
+ * {@link ChatColor#translateAlternateColorCodes(char, String)}.
+ * <p>
+ * Run with {@code mvn -P jmh test-compile exec:exec -Djmh.args=ColorizeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorizeBenchmark {
+
+    private static final Pattern HEX_PATTERN = Pattern.compile("(?:&\\{#|<#|\\{#|&#|#)([A-Fa-f0-9]{6})(?:\\}|>|)");
+
+    private static final LegacyComponentSerializer LEGACY_SERIALIZER = LegacyComponentSerializer.builder()
+            .hexColors()
+            .useUnusualXRepeatedCharacterHexFormat()
+            .build();
+
+    @Param({"legacy", "hex", "minimessage"})
+    public String input;
+
+    private String message;
+
+    @Setup
+    public void setup() {
+        switch (input) {
+            case "legacy":
+                message = "&8[&6Shop&8] &aWelcome back, &e&lSteve&r&a! &7You have &f5 &7unread messages.";
+                break;
+            case "hex":
+                message = "&#FFAA00[Shop] &{#00ff00}Welcome back, <#55ffff>Steve&r! {#AAAAAA}You have #ffffff5 &7unread messages.";
+                break;
+            case "minimessage":
+                message = "<gradient:#ffaa00:#ff5555>[Shop]</gradient> <green>Welcome back, <bold>Steve</bold>!</green> &7You have <white>5</white> unread messages.";
+                break;
+            default:
+                throw new IllegalArgumentException(input);
+        }
+    }
+
+    /**
+     * The previous colorize: unconditional MiniMessage parse, regex hex pass, then Bukkit's '&' pass.
+     */
+    static String regexColorize(String message) {
+        try {
+            message = LEGACY_SERIALIZER.serialize(MiniMessage.miniMessage().deserialize(message));
+        } catch (Exception ignored) {
+        }
+
+        Matcher matcher = HEX_PATTERN.matcher(message);
+        StringBuffer buffer = new StringBuffer();
+        while (matcher.find()) {
+            String hexCode = matcher.group(1);
+            StringBuilder replacement = new StringBuilder("§x");
+            for (char c : hexCode.toCharArray()) {
+                replacement.append('§').append(c);
+            }
+            matcher.appendReplacement(buffer, replacement.toString());
+        }
+        matcher.appendTail(buffer);
+        return ChatColor.translateAlternateColorCodes('&', buffer.toString());
+    }
+
+    @Benchmark
+    public String regexColorize() {
+        return regexColorize(message);
+    }
+
+    @Benchmark
+    public String colorize() {
+        return MessageUtil.colorize(message);
+    }
+
+    @Benchmark
+    public String colorizeCached() {
+        return MessageUtil.colorizeCached(message);
+    }
+
+    @Benchmark
+    public boolean mightContainTags() {
+        return MiniMessageWrapper.mightContainTags(message);
+    }
+
+    @Benchmark
+    public String translateColors() {
+        return MessageUtil.translateColors(message);
+    }
+}
@@ -7,6 +7,7 @@ import me.icegames.iglanguages.command.LangCommand;
 import me.icegames.iglanguages.listener.PlayerJoinListener;
 import me.icegames.iglanguages.listener.PlayerQuitListener;
 import me.icegames.iglanguages.manager.ActionsManager;
+import me.icegames.iglanguages.manager.LangFileWatcher;
 import me.icegames.iglanguages.manager.LangManager;
 import me.icegames.iglanguages.manager.RedisManager;
 import me.icegames.iglanguages.packet.ProtocolLibHook;
@@ -43,6 +44,7 @@ public class IGLanguages extends JavaPlugin {
 
     private RedisManager redisManager;
     private ProtocolLibHook protocolLibHook;
+    private LangFileWatcher langFileWatcher;
 
     private void startingBanner() {
         Bukkit.getConsoleSender().sendMessage("§b  ___ §b____   ");
@@ -83,6 +85,12 @@ public class IGLanguages extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (langFileWatcher != null) {
+            langFileWatcher.close();
+        }
+        if (langManager != null) {
+            langManager.close();
+        }
         if (protocolLibHook != null) {
             protocolLibHook.unregister();
         }
@@ -117,6 +125,11 @@ public class IGLanguages extends JavaPlugin {
                 "Loaded " + langManager.getAvailableLangs().size() + " languages! " + langManager.getAvailableLangs());
         getLogger().info("Loaded " + langManager.getTotalTranslationsCount() + " total translations!");
 
+        if (getConfig().getBoolean("hotReload.enabled", false)) {
+            this.langFileWatcher = new LangFileWatcher(this, langManager, new File(getDataFolder(), "langs"));
+            langFileWatcher.start();
+        }
+
         this.actionsManager = new ActionsManager(this);
     }
 
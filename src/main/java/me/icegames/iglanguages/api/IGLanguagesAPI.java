@@ -1,11 +1,16 @@
 package me.icegames.iglanguages.api;
 
 import me.icegames.iglanguages.manager.LangManager;
+import me.icegames.iglanguages.manager.PlayerLangRegistry;
 import org.bukkit.entity.Player;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Public API for interacting with the IGLanguages plugin.
@@ -45,6 +50,44 @@ public class IGLanguagesAPI {
         return langManager.getPlayerLang(player.getUniqueId());
     }
 
+    /**
+     * Returns the players currently using a language.
+     *
+     * @param lang The language code (e.g., "pt_br").
+     * @return A live, read-only view of their UUIDs.
+     */
+    public Set<UUID> getPlayersByLang(String lang) {
+        return langManager.getPlayerLangs().members(lang);
+    }
+
+    /**
+     * Returns how many players use each language.
+     *
+     * @return A map of language codes to player counts, for languages in use.
+     */
+    public Map<String, Integer> getPlayerCounts() {
+        return langManager.getPlayerLangs().counts();
+    }
+
+    /**
+     * Registers a listener called whenever a player's language is loaded, changed or
+     * unloaded. It may be called from any thread.
+     *
+     * @param listener The listener.
+     */
+    public void addLanguageChangeListener(PlayerLangRegistry.ChangeListener listener) {
+        langManager.getPlayerLangs().addListener(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addLanguageChangeListener}.
+     *
+     * @param listener The listener.
+     */
+    public void removeLanguageChangeListener(PlayerLangRegistry.ChangeListener listener) {
+        langManager.getPlayerLangs().removeListener(listener);
+    }
+
     /**
      * Sets the language for a player and saves it.
      * 
@@ -104,6 +147,135 @@ public class IGLanguagesAPI {
         return langManager.getTranslation(player, buildKeyWithArgs(key, args));
     }
 
+    /**
+     * Gets a translation for a player with numeric arguments. Typed slots such as
+     * {0,number}, {0,number,currency}, {1,duration} (seconds) or {2,date,short}
+     * (epoch milliseconds) format them for the player's language; plain {n}
+     * slots get the number as-is.
+     *
+     * @param player The target player.
+     * @param key    The translation key.
+     * @param args   The numbers to substitute into the template.
+     * @return The translated text with arguments applied.
+     */
+    public String getPlayerTranslation(Player player, String key, long... args) {
+        return langManager.getTranslation(player, langManager.getKey(key), args);
+    }
+
+    /**
+     * Same as {@link #getPlayerTranslation(Player, String, long...)}, for fractional numbers.
+     *
+     * @param player The target player.
+     * @param key    The translation key.
+     * @param args   The numbers to substitute into the template.
+     * @return The translated text with arguments applied.
+     */
+    public String getPlayerTranslation(Player player, String key, double... args) {
+        return langManager.getTranslation(player, langManager.getKey(key), args);
+    }
+
+    /**
+     * Gets a translation in a given language with numeric arguments, formatted for that language.
+     *
+     * @param lang The language code.
+     * @param key  The translation key.
+     * @param args The numbers to substitute into the template.
+     * @return The translated text with arguments applied.
+     */
+    public String getLangTranslation(String lang, String key, long... args) {
+        return langManager.getLangTranslation(lang, langManager.getKey(key), args);
+    }
+
+    /**
+     * Same as {@link #getLangTranslation(String, String, long...)}, for fractional numbers.
+     *
+     * @param lang The language code.
+     * @param key  The translation key.
+     * @param args The numbers to substitute into the template.
+     * @return The translated text with arguments applied.
+     */
+    public String getLangTranslation(String lang, String key, double... args) {
+        return langManager.getLangTranslation(lang, langManager.getKey(key), args);
+    }
+
+    /**
+     * Gets a translation for a player from any thread. Parts that don't need
+     * PlaceholderAPI are rendered immediately on the calling thread; placeholders
+     * are resolved on the main thread in one batch per tick, after which the future
+     * completes (on the main thread).
+     *
+     * @param player The target player.
+     * @param key    The translation key.
+     * @param args   The arguments to substitute into the template.
+     * @return A future of the translated text.
+     */
+    public CompletableFuture<String> getPlayerTranslationAsync(Player player, String key, String... args) {
+        return langManager.getTranslationAsync(player, buildKeyWithArgs(key, args));
+    }
+
+    /**
+     * Gets many translations for a player in one pass, using their current language.
+     * Each entry is a plain key or a "key:arg0,arg1" string (see {@link #withArgs}).
+     * The language is resolved once, and each PlaceholderAPI placeholder is resolved
+     * at most once for the whole batch, which makes this much cheaper than one
+     * {@link #getPlayerTranslation} call per line when building menus or item lore.
+     *
+     * @param player The target player.
+     * @param keys   The translation keys, with optional arguments.
+     * @return The translated texts, in the same order as {@code keys}.
+     */
+    public List<String> getPlayerTranslations(Player player, List<String> keys) {
+        return langManager.getTranslations(player, keys);
+    }
+
+    /**
+     * Gets many translations in a given language in one pass.
+     * Each entry is a plain key or a "key:arg0,arg1" string (see {@link #withArgs}).
+     *
+     * @param lang The language code.
+     * @param keys The translation keys, with optional arguments.
+     * @return The translated texts, in the same order as {@code keys}.
+     */
+    public List<String> getLangTranslations(String lang, List<String> keys) {
+        return langManager.getLangTranslations(lang, keys);
+    }
+
+    /**
+     * Sends a translated message to every online player in their own language.
+     * The message is rendered once per language in use; only placeholders that
+     * differ per player are resolved for each recipient. Must be called from the
+     * main thread.
+     *
+     * @param key  The translation key.
+     * @param args The arguments to substitute into the template.
+     */
+    public void broadcast(String key, String... args) {
+        langManager.broadcast(buildKeyWithArgs(key, args));
+    }
+
+    /**
+     * Sends a translated message to the given players in their own language,
+     * rendering it once per language among them. Must be called from the main thread.
+     *
+     * @param players The recipients.
+     * @param key     The translation key.
+     * @param args    The arguments to substitute into the template.
+     */
+    public void multicast(Collection<? extends Player> players, String key, String... args) {
+        langManager.multicast(players, buildKeyWithArgs(key, args));
+    }
+
+    /**
+     * Builds a "key:arg0,arg1" entry for the batch methods, escaping commas in arg values.
+     *
+     * @param key  The translation key.
+     * @param args The arguments to substitute into the template.
+     * @return The key with its arguments.
+     */
+    public static String withArgs(String key, String... args) {
+        return buildKeyWithArgs(key, args);
+    }
+
     /**
      * Builds a "key:arg0,arg1,..." string, escaping commas in arg values.
      */
@@ -144,9 +316,10 @@ public class IGLanguagesAPI {
      * @return A map of keys to their translated values.
      */
     public Map<String, String> getTranslations(String lang, List<String> keys) {
+        List<String> values = langManager.getLangTranslations(lang, keys);
         Map<String, String> translations = new HashMap<>();
-        for (String key : keys) {
-            translations.put(key, langManager.getLangTranslation(lang, key));
+        for (int i = 0; i < keys.size(); i++) {
+            translations.put(keys.get(i), values.get(i));
         }
         return translations;
     }
@@ -179,6 +352,17 @@ public class IGLanguagesAPI {
         langManager.reload();
     }
 
+    /**
+     * Reloads config and translations off the main thread. Translations stay
+     * available the whole time; the new set is swapped in atomically once built.
+     * Must be called from the main thread.
+     *
+     * @return A future completed on the main thread once the new translations are live.
+     */
+    public CompletableFuture<Void> reloadAsync() {
+        return langManager.reloadAsync().thenApply(result -> null);
+    }
+
     /**
      * Gets the default language code configured in config.yml.
      * 
@@ -2,6 +2,7 @@ package me.icegames.iglanguages.command;
 
 import me.icegames.iglanguages.manager.ActionsManager;
 import me.icegames.iglanguages.manager.LangManager;
+import me.icegames.iglanguages.manager.MissingKeyTracker;
 import me.icegames.iglanguages.IGLanguages;
 import me.icegames.iglanguages.util.MessageUtil;
 import org.bukkit.Bukkit;
@@ -55,16 +56,82 @@ public class LangCommand implements CommandExecutor {
         }
 
         if (args[0].equalsIgnoreCase("reload")) {
-            plugin.reloadConfig();
-            langManager.loadAll();
-            langManager.clearCache();
+            // Build happens off-thread; the callback runs on the main thread after the swap
+            langManager.reloadAsync().whenComplete((result, error) -> {
+                if (error != null) {
+                    plugin.getLogger().severe("Failed to reload languages: " + error.getMessage());
+                    sender.sendMessage(MessageUtil.getMessage(plugin.getMessagesConfig(), "internal_error"));
+                    return;
+                }
+                String consolePrefix = "\u001B[1;30m[\u001B[0m\u001B[36mI\u001B[1;36mG\u001B[0m\u001B[1;37m" + "Languages" + "\u001B[1;30m]\u001B[0m ";
+                System.out.println(consolePrefix + "Reloaded " + result.languages + " languages! " + langManager.getAvailableLangs());
+                System.out.println(consolePrefix + "Reloaded " + result.translations + " total translations!");
+                if (plugin.getProtocolLibHook() != null) {
+                    plugin.getProtocolLibHook().reload();
+                }
+                sender.sendMessage(MessageUtil.getMessage(plugin.getMessagesConfig(), "reload_success"));
+                sender.sendMessage(MessageUtil.getMessage(plugin.getMessagesConfig(), "reload_timings",
+                        "{build}", String.valueOf(result.buildMillis),
+                        "{swap}", String.format("%.2f", result.swapMillis),
+                        "{generation}", String.valueOf(result.generation)));
+            });
+            return true;
+        }
+
+        if (args[0].equalsIgnoreCase("stats")) {
+            LangManager.RenderStats stats = langManager.getRenderStats();
+            long[] packets = plugin.getProtocolLibHook() != null
+                    ? plugin.getProtocolLibHook().getCacheStats() : new long[3];
+            long[] prefilter = plugin.getProtocolLibHook() != null
+                    ? plugin.getProtocolLibHook().getPrefilterStats() : new long[3];
+            sender.sendMessage(MessageUtil.getOneOffMessage(plugin.getMessagesConfig(), "stats",
+                    "{generation}", String.valueOf(langManager.getGeneration()),
+                    "{players}", String.valueOf(stats.players),
+                    "{hits}", String.valueOf(stats.hits),
+                    "{misses}", String.valueOf(stats.misses),
+                    "{revalidated}", String.valueOf(stats.revalidated),
+                    "{stale}", String.valueOf(stats.stale),
+                    "{carried}", String.valueOf(stats.carriedOver),
+                    "{packet_hits}", String.valueOf(packets[0]),
+                    "{packet_misses}", String.valueOf(packets[1]),
+                    "{packet_stale}", String.valueOf(packets[2]),
+                    "{prefilter_checked}", String.valueOf(prefilter[0]),
+                    "{prefilter_passed}", String.valueOf(prefilter[1]),
+                    "{prefilter_rate}", prefilter[0] == 0 ? "-"
+                            : String.format("%.1f", prefilter[1] * 100.0 / prefilter[0])));
             if (plugin.getProtocolLibHook() != null) {
-                plugin.getProtocolLibHook().clearCache();
+                plugin.getProtocolLibHook().getCacheStatsByType().forEach((type, counts) ->
+                        sender.sendMessage(MessageUtil.getOneOffMessage(plugin.getMessagesConfig(), "stats_packet_type",
+                                "{type}", type,
+                                "{hits}", String.valueOf(counts[0]),
+                                "{misses}", String.valueOf(counts[1]),
+                                "{stale}", String.valueOf(counts[2]),
+                                "{collisions}", String.valueOf(counts[3]),
+                                "{seen}", String.valueOf(counts[4]),
+                                "{skipped}", String.valueOf(counts[5]))));
+            }
+            return true;
+        }
+
+        if (args[0].equalsIgnoreCase("missing")) {
+            MissingKeyTracker missingKeys = langManager.getMissingKeys();
+            List<MissingKeyTracker.Missing> entries = missingKeys.report();
+            if (entries.isEmpty()) {
+                sender.sendMessage(MessageUtil.getMessage(plugin.getMessagesConfig(), "missing_none"));
+                return true;
+            }
+            sender.sendMessage(MessageUtil.getOneOffMessage(plugin.getMessagesConfig(), "missing_header",
+                    "{count}", String.valueOf(entries.size())));
+            for (MissingKeyTracker.Missing entry : entries.subList(0, Math.min(10, entries.size()))) {
+                sender.sendMessage(MessageUtil.getOneOffMessage(plugin.getMessagesConfig(), "missing_entry",
+                        "{lang}", entry.lang, "{key}", entry.key, "{hits}", String.valueOf(entry.getHits())));
             }
-            String consolePrefix = "\u001B[1;30m[\u001B[0m\u001B[36mI\u001B[1;36mG\u001B[0m\u001B[1;37m" + "Languages" + "\u001B[1;30m]\u001B[0m ";
-            System.out.println(consolePrefix + "Reloaded " + langManager.getAvailableLangs().size() + " languages! " + langManager.getAvailableLangs());
-            System.out.println(consolePrefix + "Reloaded " + langManager.getTotalTranslationsCount() + " total translations!");
-            sender.sendMessage(MessageUtil.getMessage(plugin.getMessagesConfig(), "reload_success"));
+            // The full list goes to missing-keys.txt, written off the main thread
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                String file = missingKeys.writeReport().getName();
+                Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(
+                        MessageUtil.getMessage(plugin.getMessagesConfig(), "missing_written", "{file}", file)));
+            });
             return true;
         }
 
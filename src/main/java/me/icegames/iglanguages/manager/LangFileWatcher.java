@@ -0,0 +1,141 @@
+package me.icegames.iglanguages.manager;
+
+import me.icegames.iglanguages.IGLanguages;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches {@code plugins/IGLanguages/langs} and hands changed .yml files to
+ * {@link LangManager#applyFileChanges} once edits have settled.
+ * <p>
+ * Events are debounced so that editors writing a file in several steps only
+ * trigger a single incremental reload.
+ */
+public class LangFileWatcher {
+
+    private final IGLanguages plugin;
+    private final LangManager langManager;
+    private final Path root;
+    private final long debounceMillis;
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running;
+
+    public LangFileWatcher(IGLanguages plugin, LangManager langManager, File langsFolder) {
+        this.plugin = plugin;
+        this.langManager = langManager;
+        this.root = langsFolder.toPath();
+        this.debounceMillis = Math.max(50, plugin.getConfig().getLong("hotReload.debounceMillis", 500));
+    }
+
+    public void start() {
+        try {
+            this.watchService = root.getFileSystem().newWatchService();
+            registerAll(root);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not watch language files: " + e.getMessage());
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this::run, "IGLanguages-LangWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        plugin.getLogger().info("Watching " + root + " for language file changes.");
+    }
+
+    public void close() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void registerAll(Path start) throws IOException {
+        registerAll(start, null);
+    }
+
+    /**
+     * Watches {@code start} and every directory below it.
+     *
+     * @param found Receives the .yml files found on the way, or null.
+     */
+    private void registerAll(Path start, Set<File> found) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (found != null && file.toString().endsWith(".yml")) {
+                    found.add(file.toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void run() {
+        Set<File> pending = new LinkedHashSet<>();
+        boolean fullReload = false;
+        while (running) {
+            WatchKey key;
+            try {
+                key = pending.isEmpty() && !fullReload
+                        ? watchService.take()
+                        : watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            if (key == null) {
+                // Quiet period elapsed, apply what has accumulated
+                if (fullReload) {
+                    plugin.getServer().getScheduler().runTask(plugin, langManager::reloadAsync);
+                } else {
+                    langManager.applyFileChanges(new LinkedHashSet<>(pending));
+                }
+                pending.clear();
+                fullReload = false;
+                continue;
+            }
+
+            Path dir = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    fullReload = true;
+                    continue;
+                }
+                Path changed = dir.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed)) {
+                    try {
+                        // A moved-in or unpacked folder arrives whole: queue files at every depth
+                        registerAll(changed, pending);
+                    } catch (IOException e) {
+                        fullReload = true;
+                    }
+                } else if (changed.toString().endsWith(".yml")) {
+                    pending.add(changed.toFile());
+                }
+            }
+            key.reset();
+        }
+    }
+}
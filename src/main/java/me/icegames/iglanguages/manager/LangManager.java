@@ -5,135 +5,214 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import me.icegames.iglanguages.IGLanguages;
 import me.clip.placeholderapi.PlaceholderAPI;
 import me.icegames.iglanguages.util.GetLocale;
-import me.icegames.iglanguages.util.MessageUtil;
 import org.bukkit.Bukkit;
-import org.bukkit.configuration.file.YamlConfiguration;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import me.icegames.iglanguages.storage.PlayerLangStorage;
-import me.icegames.iglanguages.util.LangEnum;
+import me.icegames.iglanguages.translation.KeyIndex;
+import me.icegames.iglanguages.translation.ParsedParams;
+import me.icegames.iglanguages.translation.PartialRender;
+import me.icegames.iglanguages.translation.Template;
+import me.icegames.iglanguages.translation.TranslationKey;
+import me.icegames.iglanguages.translation.TranslationSnapshot;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 public class LangManager {
     private final IGLanguages plugin;
     private final PlayerLangStorage playerLangStorage;
-    public final Map<UUID, String> playerLang = new ConcurrentHashMap<>();
-    private final Map<String, UUID> playerNameToUUID = new ConcurrentHashMap<>();
-    private volatile Map<String, Map<String, String>> translations = new HashMap<>();
-    private final Cache<String, CachedTranslation> translationCache;
-    private final Cache<String, String> parsedMessageCache;
+    private final TranslationLoader loader;
+    private final PlayerLangRegistry playerLangs = new PlayerLangRegistry();
+    private volatile TranslationSnapshot snapshot = TranslationSnapshot.empty();
+    private final AtomicInteger generations = new AtomicInteger();
+    private final AtomicReference<CompletableFuture<ReloadResult>> pendingReload = new AtomicReference<>();
+    // Every build, sync or async, runs here one at a time on top of the previous one; only this thread touches latestBuilt
+    private final ExecutorService buildExecutor;
+    private TranslationLoader.Result latestBuilt = TranslationLoader.Result.empty();
+    private final Cache<String, TranslationKey> keyHandles;
+    // Raw "key:args" strings as sent by PlaceholderAPI -> parsed handle
+    private final Cache<String, ParsedParams> paramHandles;
+    // Per-player render caches, (langId << 32 | keyId) -> render with stable placeholders baked in.
+    // Created when a player's language is loaded and dropped when it is unloaded.
+    private final Map<UUID, Cache<Long, PartialRender>> renderCaches = new ConcurrentHashMap<>();
+    // Total weight (about one unit per char) shared evenly by all render caches
+    private final long renderCacheWeight;
+    private final long renderCacheExpireNanos;
+    private volatile long renderCacheShare;
+    private volatile PlaceholderCache placeholders;
+    private final MissingKeyTracker missingKeys;
+    // Async requests waiting for PlaceholderAPI, resolved together on the main thread once per tick
+    private final Queue<PendingRender> pendingRenders = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final LongAdder renderHits = new LongAdder();
+    private final LongAdder renderMisses = new LongAdder();
+    private final LongAdder renderRevalidated = new LongAdder();
+    private final LongAdder renderStale = new LongAdder();
+    private final LongAdder renderCarriedOver = new LongAdder();
     private final String defaultLang;
 
-    // Patterns for placeholder detection and parsing
-    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%[^%]+%");
-    private static final Pattern LANG_PLACEHOLDER_PATTERN = Pattern.compile("%lang_([^%]+)%");
-    private static final Pattern ARG_PATTERN = Pattern.compile("\\{(\\d+)}");
+    // Maximum depth of nested %lang_*% references, guards against reference cycles
+    private static final int MAX_REF_DEPTH = 8;
+    // Number of most-used key handles re-resolved against a new snapshot before it is published
+    private static final int WARM_KEY_COUNT = 256;
+    // Smallest weight a single player's render cache is ever given
+    private static final long RENDER_CACHE_MIN_SHARE = 4096;
+    // Number of most-used renders per player carried over to a new snapshot before it is published
+    private static final int HOT_RENDER_COUNT = 32;
 
     /**
-     * Simple holder for a parsed key and its arguments.
+     * Timings and totals of a completed reload.
      */
-    private static class ParsedKey {
-        public final String key;
-        public final String[] args;
+    public static final class ReloadResult {
+        public final int generation;
+        public final long buildMillis;
+        public final double swapMillis;
+        public final int languages;
+        public final int translations;
+
+        ReloadResult(int generation, long buildMillis, double swapMillis, int languages, int translations) {
+            this.generation = generation;
+            this.buildMillis = buildMillis;
+            this.swapMillis = swapMillis;
+            this.languages = languages;
+            this.translations = translations;
+        }
+    }
 
-        public ParsedKey(String key, String[] args) {
-            this.key = key;
-            this.args = args;
+    /**
+     * Counters of the per-player render caches since startup.
+     */
+    public static final class RenderStats {
+        /** Served from a render of the current snapshot. */
+        public final long hits;
+        /** Rendered because nothing was cached. */
+        public final long misses;
+        /** Served from a render of an older snapshot after checking nothing it depends on changed. */
+        public final long revalidated;
+        /** Rendered again because the cached render was from an older snapshot and out of date. */
+        public final long stale;
+        /** Renders carried over to a new snapshot before it was published. */
+        public final long carriedOver;
+        public final int players;
+
+        RenderStats(long hits, long misses, long revalidated, long stale, long carriedOver, int players) {
+            this.hits = hits;
+            this.misses = misses;
+            this.revalidated = revalidated;
+            this.stale = stale;
+            this.carriedOver = carriedOver;
+            this.players = players;
         }
     }
 
     /**
-     * Parses "key:arg0,arg1,..." into a ParsedKey.
+     * Parses "key:arg0,arg1,..." into a key handle and its arguments.
      * Splits on the first ':' only. Args are split on unescaped ','.
      * Use '\,' for literal commas in arguments.
      */
-    static ParsedKey parseKeyWithArgs(String input) {
+    private ParsedParams parseKeyWithArgs(String input) {
         int colonIdx = input.indexOf(':');
         if (colonIdx == -1) {
-            return new ParsedKey(input, new String[0]);
-        }
-        String key = input.substring(0, colonIdx);
-        String argsStr = input.substring(colonIdx + 1);
-
-        List<String> args = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        for (int i = 0; i < argsStr.length(); i++) {
-            char c = argsStr.charAt(i);
-            if (c == '\\' && i + 1 < argsStr.length() && argsStr.charAt(i + 1) == ',') {
-                current.append(',');
-                i++; // skip escaped comma
-            } else if (c == ',') {
-                args.add(current.toString());
-                current.setLength(0);
-            } else {
-                current.append(c);
-            }
+            return new ParsedParams(getKey(input), Template.NO_ARGS);
         }
-        args.add(current.toString());
-        return new ParsedKey(key, args.toArray(new String[0]));
+        return new ParsedParams(getKey(input.substring(0, colonIdx)), Template.splitArgs(input, colonIdx + 1));
     }
 
     /**
-     * Replaces {0}, {1}, etc. in the template with the corresponding args.
-     * Out-of-range indices are left as-is.
+     * Resolves bracket placeholders in args without checking for PlaceholderAPI first.
+     *
+     * @param values Values already resolved in the current batch, or null.
      */
-    static String applyArgs(String template, String[] args) {
-        if (args.length == 0) return template;
-        Matcher m = ARG_PATTERN.matcher(template);
-        StringBuffer sb = new StringBuffer();
-        while (m.find()) {
-            int idx = Integer.parseInt(m.group(1));
-            if (idx < args.length) {
-                m.appendReplacement(sb, Matcher.quoteReplacement(args[idx]));
+    private String[] resolveBracketArgs(Player player, String[] args, Map<String, String> values) {
+        String[] resolved = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.indexOf('{') == -1) {
+                resolved[i] = arg;
+            } else if (values == null) {
+                resolved[i] = PlaceholderAPI.setBracketPlaceholders(player, arg);
+            } else {
+                String value = values.get(arg);
+                if (value == null) {
+                    value = PlaceholderAPI.setBracketPlaceholders(player, arg);
+                    values.put(arg, value);
+                }
+                resolved[i] = value;
             }
         }
-        m.appendTail(sb);
-        return sb.toString();
+        return resolved;
+    }
+
+    private static boolean hasPlaceholderApi() {
+        return Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null;
     }
 
     /**
-     * Resolves bracket PAPI placeholders ({server_online}, etc.) in args.
-     * Only called when player is non-null and PlaceholderAPI is available.
+     * Resolves a placeholder for a player, at most once per batch.
+     *
+     * @param values Values already resolved in the current batch, or null.
      */
-    private String[] resolveArgs(Player player, String[] args) {
-        if (args.length == 0 || player == null) return args;
-        boolean hasPapi = org.bukkit.Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null;
-        if (!hasPapi) return args;
-
-        String[] resolved = new String[args.length];
-        for (int i = 0; i < args.length; i++) {
-            if (args[i].contains("{")) {
-                resolved[i] = PlaceholderAPI.setBracketPlaceholders(player, args[i]);
-            } else {
-                resolved[i] = args[i];
-            }
+    private String resolvePlaceholder(Player player, String placeholder, Map<String, String> values) {
+        if (values == null) {
+            return placeholders.resolve(player, placeholder);
         }
-        return resolved;
+        String value = values.get(placeholder);
+        if (value == null) {
+            value = placeholders.resolve(player, placeholder);
+            values.put(placeholder, value);
+        }
+        return value;
     }
 
     public LangManager(IGLanguages plugin, PlayerLangStorage storage) {
         this.plugin = plugin;
         this.playerLangStorage = storage;
+        this.loader = new TranslationLoader(plugin);
         this.defaultLang = plugin.getConfig().getString("defaultLang");
+        this.buildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "IGLanguages-Reload");
+            thread.setDaemon(true);
+            return thread;
+        });
 
-        int cacheSize = plugin.getConfig().getInt("performance.translationCacheSize", 500);
-        this.translationCache = Caffeine.newBuilder()
-                .maximumSize(cacheSize)
-                .expireAfterAccess(30, TimeUnit.MINUTES)
+        int keyHandleCacheSize = plugin.getConfig().getInt("performance.keyHandleCacheSize", 2000);
+        this.keyHandles = Caffeine.newBuilder()
+                .maximumSize(keyHandleCacheSize)
                 .build();
-
-        int parsedCacheSize = plugin.getConfig().getInt("performance.parsedMessageCacheSize", 1000);
-        this.parsedMessageCache = Caffeine.newBuilder()
-                .maximumSize(parsedCacheSize)
-                .expireAfterWrite(5, TimeUnit.MINUTES)
+        this.paramHandles = Caffeine.newBuilder()
+                .maximumSize(plugin.getConfig().getInt("performance.paramCacheSize", 2000))
                 .build();
 
+        // Renders in a player's previous language are never served again
+        playerLangs.addListener((uuid, previous, lang) -> {
+            Cache<Long, PartialRender> renders = renderCaches.get(uuid);
+            if (renders != null && previous != null && lang != null) {
+                renders.invalidateAll();
+            }
+        });
+
+        this.placeholders = new PlaceholderCache(plugin.getConfig());
+        this.missingKeys = new MissingKeyTracker(plugin, (lang, key) -> snapshot.get(lang, key) == null);
+        this.renderCacheWeight = Math.max(RENDER_CACHE_MIN_SHARE,
+                plugin.getConfig().getLong("performance.renderCacheWeight", 2_000_000));
+        this.renderCacheShare = renderCacheWeight;
+        // Entries also carry their own expiry, from the shortest TTL of the placeholders baked into them
+        long maxStableTtl = Math.max(placeholders.ttlNanos(PlaceholderCache.Volatility.STATIC),
+                placeholders.ttlNanos(PlaceholderCache.Volatility.PER_PLAYER));
+        this.renderCacheExpireNanos = Math.max(TimeUnit.MINUTES.toNanos(5), maxStableTtl);
+
         if (plugin.getRedisManager() != null && plugin.getRedisManager().isEnabled()) {
             plugin.getRedisManager().subscribe(message -> {
                 try {
@@ -156,8 +235,10 @@ public class LangManager {
                         }
 
                         if (uuid != null && lang != null) {
-                            if (playerLang.containsKey(uuid) || plugin.getServer().getPlayer(uuid) != null) {
-                                playerLang.put(uuid, lang);
+                            Player online = plugin.getServer().getPlayer(uuid);
+                            if (online != null || playerLangs.contains(uuid)) {
+                                // Null keeps the name already indexed for players who aren't online here
+                                playerLangs.put(uuid, online == null ? null : online.getName(), lang);
                                 plugin.LogDebug("Received Redis update for " + uuid + ": " + lang);
                             }
                         }
@@ -170,18 +251,20 @@ public class LangManager {
     }
 
     public String getPlayerLang(UUID uuid) {
-        return playerLang.get(uuid);
+        return playerLangs.get(uuid);
+    }
+
+    /**
+     * Languages of loaded players, with per-language members and counts.
+     */
+    public PlayerLangRegistry getPlayerLangs() {
+        return playerLangs;
     }
 
     public void setPlayerLang(UUID uuid, String lang) {
         lang = lang.toLowerCase();
-        playerLang.put(uuid, lang);
-
-        // Track player name for O(1) lookup
         Player player = Bukkit.getPlayer(uuid);
-        if (player != null) {
-            playerNameToUUID.put(player.getName().toLowerCase(), uuid);
-        }
+        playerLangs.put(uuid, player == null ? null : player.getName(), lang);
 
         playerLangStorage.savePlayerLang(uuid, lang);
 
@@ -192,103 +275,286 @@ public class LangManager {
     }
 
     public UUID getUUIDByName(String name) {
-        return playerNameToUUID.get(name.toLowerCase());
+        return playerLangs.getUUIDByName(name);
     }
 
     public void loadAll() {
-        File langsFolder = new File(plugin.getDataFolder(), "langs");
-        if (!langsFolder.exists())
-            langsFolder.mkdirs();
-
-        Map<String, Map<String, String>> newTranslations = new HashMap<>();
-        File[] langDirs = langsFolder.listFiles(File::isDirectory);
-        if (langDirs != null) {
-            for (File langDir : langDirs) {
-                String lang = langDir.getName().toLowerCase();
-                if (!LangEnum.isValidCode(lang)) {
-                    plugin.getLogger().warning("Invalid language folder: " + langDir.getName());
-                    plugin.getLogger().warning("Please use a valid language code as the folder name. Codes avaliable: "
-                            + LangEnum.getAllCodes());
-                    continue;
-                }
-                Map<String, String> langMap = new HashMap<>();
-                loadLangFilesRecursively(langDir, langDir, langMap);
-                newTranslations.put(lang, langMap);
+        // Discovery, parsing and compilation run on the loader pool; publishing is a single volatile write
+        publish(build().snapshot, null);
+    }
+
+    public void reload() {
+        plugin.reloadConfig();
+        this.placeholders = new PlaceholderCache(plugin.getConfig());
+        missingKeys.reload(plugin.getConfig());
+        TranslationSnapshot next = build().snapshot;
+        warmKeys(next);
+        publish(next, carryOverRenders(next));
+        plugin.getLogger().info("Reloaded language manager.");
+    }
+
+    /**
+     * Builds a full snapshot on the build executor and waits for it, so it is ordered with
+     * {@link #reloadAsync()} and {@link #applyFileChanges(Collection)} builds.
+     */
+    private TranslationLoader.Result build() {
+        Future<TranslationLoader.Result> build = buildExecutor.submit(() -> {
+            TranslationLoader.Result result = loader.load(generations.incrementAndGet(), defaultLang);
+            latestBuilt = result;
+            return result;
+        });
+        try {
+            return build.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading translations", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new IllegalStateException("Failed to load translations", cause);
+        }
+    }
+
+    /**
+     * Makes {@code next} the live snapshot, unless a newer generation is already live: builds
+     * are published from scheduled tasks, so an older build can reach the main thread after
+     * a newer one. Main thread only.
+     *
+     * @param carried Renders to install along with it, or null.
+     * @return False if {@code next} was dropped.
+     */
+    private boolean publish(TranslationSnapshot next, Map<UUID, Map<Long, PartialRender>> carried) {
+        if (next.getGeneration() < snapshot.getGeneration()) {
+            return false;
+        }
+        this.snapshot = next;
+        if (carried != null) {
+            installRenders(carried);
+        }
+        return true;
+    }
+
+    /**
+     * Reloads config and translations without blocking the main thread.
+     * <p>
+     * The new snapshot is built, colorized and compiled off-thread, and the most used
+     * key handles and cached renders are carried over to it before it is published, so
+     * players don't all miss at once after the swap. Publishing happens on
+     * the main thread with a single volatile write, so readers see either the old or the
+     * new snapshot, never a partial one; a build that finishes after a newer one is
+     * dropped. Must be called from the main thread; concurrent calls share the reload
+     * already in progress.
+     *
+     * @return A future completed on the main thread once the new snapshot is live, or the build failed.
+     */
+    public CompletableFuture<ReloadResult> reloadAsync() {
+        CompletableFuture<ReloadResult> future = new CompletableFuture<>();
+        CompletableFuture<ReloadResult> running = pendingReload.compareAndExchange(null, future);
+        if (running != null) {
+            return running;
         }
-        this.translations = newTranslations;
+
+        plugin.reloadConfig();
+        this.placeholders = new PlaceholderCache(plugin.getConfig());
+        missingKeys.reload(plugin.getConfig());
+        long buildStart = System.nanoTime();
+        buildExecutor.execute(() -> {
+            TranslationSnapshot next;
+            Map<UUID, Map<Long, PartialRender>> carried;
+            try {
+                TranslationLoader.Result result = loader.load(generations.incrementAndGet(), defaultLang);
+                next = result.snapshot;
+                warmKeys(next);
+                carried = carryOverRenders(next);
+                latestBuilt = result;
+            } catch (Exception e) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    pendingReload.set(null);
+                    future.completeExceptionally(e);
+                });
+                return;
+            }
+            long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - buildStart);
+
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                long swapStart = System.nanoTime();
+                publish(next, carried);
+                double swapMillis = (System.nanoTime() - swapStart) / 1_000_000.0;
+                pendingReload.set(null);
+                future.complete(new ReloadResult(next.getGeneration(), buildMillis, swapMillis,
+                        next.getLangs().size(), next.getTranslationCount()));
+            });
+        });
+        return future;
     }
 
-    private void loadLangFilesRecursively(File rootDir, File currentDir, Map<String, String> langMap) {
-        File[] files = currentDir.listFiles();
-        if (files == null)
+    /**
+     * Re-parses only the given language files and publishes the result.
+     * <p>
+     * Called by {@link LangFileWatcher} from its own thread. Cached renders whose template
+     * tree didn't change are carried over to the new snapshot, so caches stay warm.
+     *
+     * @param changed Created, modified or deleted .yml files below {@code langs/}.
+     */
+    public void applyFileChanges(Collection<File> changed) {
+        if (changed.isEmpty()) {
             return;
+        }
+        buildExecutor.execute(() -> {
+            TranslationLoader.Result base = latestBuilt;
+            TranslationLoader.Result result;
+            Map<UUID, Map<Long, PartialRender>> carried;
+            long buildStart = System.nanoTime();
+            try {
+                result = loader.update(base, changed, generations.incrementAndGet(), defaultLang);
+                warmKeys(result.snapshot);
+                carried = carryOverRenders(result.snapshot);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to reload changed language files: " + e.getMessage());
+                return;
+            }
+            latestBuilt = result;
+            Map<String, Set<String>> diff = result.snapshot.diff(base.snapshot);
+            long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - buildStart);
 
-        for (File file : files) {
-            if (file.isDirectory()) {
-                loadLangFilesRecursively(rootDir, file, langMap);
-            } else if (file.getName().endsWith(".yml")) {
-                String prefix = getFilePrefix(rootDir, file);
-                YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
-                for (String key : config.getKeys(false)) {
-                    Object value = config.get(key);
-                    String fullPrefix = prefix.isEmpty() ? "" : prefix + "_";
-
-                    if (value instanceof ConfigurationSection) {
-                        flattenSectionUnderscore((ConfigurationSection) value, fullPrefix + key + "_", langMap);
-                    } else if (value instanceof List) {
-                        List<?> list = (List<?>) value;
-                        String joined = String.join("\n", list.stream().map(Object::toString).toArray(String[]::new));
-                        langMap.put((fullPrefix + key).toLowerCase(), joined);
-                    } else if (value != null) {
-                        langMap.put((fullPrefix + key).toLowerCase(), value.toString());
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (!publish(result.snapshot, carried)) {
+                    return;
+                }
+                int keys = 0;
+                for (Set<String> changedKeys : diff.values()) {
+                    keys += changedKeys.size();
+                }
+                plugin.getLogger().info("Reloaded " + changed.size() + " language file(s) in " + buildMillis
+                        + "ms (" + keys + " changed translations, generation #" + result.snapshot.getGeneration() + ").");
+            });
+        });
+    }
+
+    /**
+     * Carries the hottest cached renders of every player over to a snapshot that is about
+     * to be published. Renders whose template tree is unchanged are restamped; changed ones
+     * are re-rendered here when that doesn't need PlaceholderAPI, and otherwise left to be
+     * re-rendered on first use.
+     *
+     * @return uuid -> (render key in {@code next} -> render stamped with its generation).
+     */
+    private Map<UUID, Map<Long, PartialRender>> carryOverRenders(TranslationSnapshot next) {
+        Map<UUID, Map<Long, PartialRender>> carried = new HashMap<>();
+        long now = System.nanoTime();
+        for (Map.Entry<UUID, Cache<Long, PartialRender>> entry : renderCaches.entrySet()) {
+            entry.getValue().policy().eviction().ifPresent(eviction -> {
+                Map<Long, PartialRender> renders = new HashMap<>();
+                for (PartialRender render : eviction.hottest(HOT_RENDER_COUNT).values()) {
+                    if (render.isExpired(now)) {
+                        continue;
+                    }
+                    String lang = render.getLang();
+                    Template template = next.get(lang, render.getKey());
+                    if (template == null) {
+                        continue;
+                    }
+                    PartialRender updated = revalidate(render, template, next);
+                    if (updated == null && next.isPlayerIndependent(lang, template, MAX_REF_DEPTH)) {
+                        PartialResolver resolver = new PartialResolver(next, null, lang, null, now);
+                        StringBuilder out = new StringBuilder(template.estimateLength(Template.NO_ARGS));
+                        template.appendTo(out, Template.NO_ARGS, resolver, 0);
+                        updated = resolver.finish(template, render.getKey(), out);
+                    }
+                    if (updated != null) {
+                        renders.put(renderKey(next, lang, render.getKey()), updated);
                     }
                 }
-            }
+                if (!renders.isEmpty()) {
+                    carried.put(entry.getKey(), renders);
+                }
+            });
         }
+        return carried;
     }
 
-    public void reload() {
-        plugin.reloadConfig();
-        loadAll();
-        clearCache();
-        plugin.getLogger().info("Reloaded language manager.");
+    /**
+     * Publishes renders prepared by {@link #carryOverRenders}. Must run right after the swap.
+     */
+    private void installRenders(Map<UUID, Map<Long, PartialRender>> carried) {
+        for (Map.Entry<UUID, Map<Long, PartialRender>> entry : carried.entrySet()) {
+            Cache<Long, PartialRender> renders = renderCaches.get(entry.getKey());
+            if (renders == null) {
+                continue;
+            }
+            for (Map.Entry<Long, PartialRender> render : entry.getValue().entrySet()) {
+                renders.put(render.getKey(), render.getValue());
+            }
+            renderCarriedOver.add(entry.getValue().size());
+        }
     }
 
-    private String getFilePrefix(File rootDir, File file) {
-        String relativePath = file.getAbsolutePath().substring(rootDir.getAbsolutePath().length() + 1);
-        if (relativePath.endsWith(".yml")) {
-            relativePath = relativePath.substring(0, relativePath.length() - 4);
+    /**
+     * Restamps a render from an older snapshot if its template tree is unchanged in {@code current},
+     * or returns null if it has to be rendered again.
+     */
+    private static PartialRender revalidate(PartialRender render, Template template, TranslationSnapshot current) {
+        long fingerprint = render.getFingerprint();
+        if (fingerprint == 0 || fingerprint != current.fingerprint(render.getLang(), template, MAX_REF_DEPTH)) {
+            return null;
         }
+        return render.restamp(template, current.getGeneration());
+    }
 
-        if (!relativePath.contains(File.separator)) {
-            return "";
-        }
+    private static long renderKey(TranslationSnapshot snapshot, String lang, String key) {
+        int langId = snapshot.langId(lang);
+        return renderKey(langId < 0 ? snapshot.getDefaultLangId() : langId, snapshot.getKeys().id(key));
+    }
 
-        return relativePath.replace(File.separatorChar, '.');
+    private static long renderKey(int langId, int keyId) {
+        return ((long) langId << 32) | (keyId & 0xFFFFFFFFL);
     }
 
-    private void flattenSectionUnderscore(ConfigurationSection section, String prefix, Map<String, String> map) {
-        if (section == null)
-            return;
-        for (String key : section.getKeys(false)) {
-            Object value = section.get(key);
-            if (value instanceof ConfigurationSection) {
-                flattenSectionUnderscore((ConfigurationSection) value, prefix + key + "_", map);
-            } else if (value instanceof List) {
-                List<?> list = (List<?>) value;
-                String joined = String.join("\n", list.stream().map(Object::toString).toArray(String[]::new));
-                map.put((prefix + key).toLowerCase(), joined);
-            } else if (value != null) {
-                map.put((prefix + key).toLowerCase(), value.toString());
-            }
+    /**
+     * Stops the build thread and fails pending async translations. Builds in progress are abandoned.
+     */
+    public void close() {
+        buildExecutor.shutdownNow();
+        PendingRender pending;
+        while ((pending = pendingRenders.poll()) != null) {
+            pending.future.completeExceptionally(new IllegalStateException("IGLanguages is disabled"));
         }
     }
 
+    /**
+     * Resolves the most used key handles against a snapshot that is about to be published.
+     */
+    private void warmKeys(TranslationSnapshot next) {
+        keyHandles.policy().eviction().ifPresent(eviction -> {
+            for (TranslationKey key : eviction.hottest(WARM_KEY_COUNT).values()) {
+                key.prepare(next);
+            }
+        });
+    }
+
+    public RenderStats getRenderStats() {
+        return new RenderStats(renderHits.sum(), renderMisses.sum(), renderRevalidated.sum(), renderStale.sum(),
+                renderCarriedOver.sum(), renderCaches.size());
+    }
+
+    /**
+     * Generation of the currently published snapshot.
+     */
+    public int getGeneration() {
+        return snapshot.getGeneration();
+    }
+
     public java.util.concurrent.CompletableFuture<String> loadPlayerLang(UUID uuid) {
+        renderCaches.computeIfAbsent(uuid, id -> newRenderCache());
+        rebalanceRenderCaches();
+        // Captured now, the player may be gone by the time storage answers
+        Player player = Bukkit.getPlayer(uuid);
+        String name = player == null ? null : player.getName();
         return playerLangStorage.getPlayerLang(uuid).thenApply(lang -> {
             if (lang != null) {
-                playerLang.put(uuid, lang);
+                playerLangs.put(uuid, name, lang);
                 plugin.LogDebug("Loaded language " + lang + " for " + uuid);
             }
             return lang;
@@ -296,22 +562,47 @@ public class LangManager {
     }
 
     public void unloadPlayerLang(UUID uuid) {
-        Player player = Bukkit.getPlayer(uuid);
-        if (player != null) {
-            playerNameToUUID.remove(player.getName().toLowerCase());
+        playerLangs.remove(uuid);
+        Cache<Long, PartialRender> renders = renderCaches.remove(uuid);
+        if (renders != null) {
+            renders.invalidateAll();
+            rebalanceRenderCaches();
+        }
+    }
+
+    private Cache<Long, PartialRender> newRenderCache() {
+        return Caffeine.newBuilder()
+                .maximumWeight(renderCacheShare)
+                .weigher((Long key, PartialRender render) -> render.estimateLength() + 16)
+                .expireAfterWrite(renderCacheExpireNanos, TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Splits the global render cache weight evenly between online players. Skipped while the
+     * share moves by less than an eighth, so joins and quits don't touch every cache.
+     */
+    private void rebalanceRenderCaches() {
+        long share = Math.max(RENDER_CACHE_MIN_SHARE, renderCacheWeight / Math.max(1, renderCaches.size()));
+        long current = renderCacheShare;
+        if (Math.abs(share - current) * 8 < current) {
+            return;
+        }
+        renderCacheShare = share;
+        for (Cache<Long, PartialRender> cache : renderCaches.values()) {
+            cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(share));
         }
-        playerLang.remove(uuid);
     }
 
     public boolean hasPlayerLang(UUID uuid) {
         // This is now async in storage, but we check memory first
-        return playerLang.containsKey(uuid);
+        return playerLangs.contains(uuid);
         // If we needed to check DB, it would be async.
         // But for synchronous API, we rely on memory.
     }
 
     public void savePlayerLang(UUID uuid) {
-        String lang = playerLang.get(uuid);
+        String lang = playerLangs.get(uuid);
         if (lang != null)
             playerLangStorage.savePlayerLang(uuid, lang);
         plugin.LogDebug("Saved player language " + lang);
@@ -322,73 +613,423 @@ public class LangManager {
     }
 
     public Map<String, Map<String, String>> getTranslations() {
-        return this.translations;
+        return this.snapshot.getRaw();
     }
 
     public List<String> getAvailableLangs() {
-        return new ArrayList<>(this.translations.keySet());
+        return this.snapshot.getLangs();
     }
 
     public int getTotalTranslationsCount() {
-        int total = 0;
-        for (Map<String, String> langMap : this.translations.values()) {
-            total += langMap.size();
+        return this.snapshot.getTranslationCount();
+    }
+
+    /**
+     * Returns a reusable handle for a translation key.
+     * Hot callers should keep the handle and pass it to the handle-based overloads,
+     * which resolve the key with a single array read per render.
+     */
+    public TranslationKey getKey(String key) {
+        // Keyed by the string as given: a hit neither folds case nor allocates
+        return keyHandles.get(key, TranslationKey::new);
+    }
+
+    /**
+     * Returns the parsed form of a "key:arg0,arg1" string, parsing it only the first time it is seen.
+     * Strings are matched exactly, so a hit does no parsing and allocates nothing.
+     */
+    public ParsedParams getParams(String keyWithArgs) {
+        ParsedParams parsed = paramHandles.getIfPresent(keyWithArgs);
+        if (parsed == null) {
+            parsed = parseKeyWithArgs(keyWithArgs);
+            paramHandles.put(keyWithArgs, parsed);
         }
-        return total;
+        return parsed;
     }
 
     public String getTranslation(Player player, String keyWithArgs) {
-        UUID uuid = player.getUniqueId();
-        String lang = playerLang.getOrDefault(uuid, defaultLang);
-
+        if (keyWithArgs.indexOf(':') == -1) {
+            return translate(scope(player, null), getKey(keyWithArgs), Template.NO_ARGS, false);
+        }
         // Parse key and optional arguments (e.g. "key:arg0,arg1")
-        ParsedKey parsed = parseKeyWithArgs(keyWithArgs);
-        boolean hasArgs = parsed.args.length > 0;
+        return getTranslation(player, getParams(keyWithArgs));
+    }
 
-        // Resolve bracket PAPI placeholders in args (e.g. {server_online})
-        String[] resolvedArgs = hasArgs ? resolveArgs(player, parsed.args) : parsed.args;
+    public String getTranslation(Player player, ParsedParams params) {
+        return translate(scope(player, null), params.getKey(), params.getArgs(),
+                params.hasBracketArgs() && hasPlaceholderApi());
+    }
 
-        // Get cached translation object (pre-calculated attributes)
-        CachedTranslation cached = getCachedTranslation(lang, parsed.key);
+    /**
+     * Translates a pre-resolved key for a player, resolving nested and PlaceholderAPI placeholders.
+     */
+    public String getTranslation(Player player, TranslationKey key, String... args) {
+        return translate(scope(player, null), key, args, args.length > 0 && hasPlaceholderApi());
+    }
 
-        if (cached == null) {
-            return MessageUtil.getMessage(plugin.getMessagesConfig(), "translation_not_found", "{key}", parsed.key);
+    /**
+     * Translates with numeric arguments. Typed slots such as {0,number} or {1,duration} format
+     * them for the player's language without boxing or parsing.
+     */
+    public String getTranslation(Player player, TranslationKey key, long[] values) {
+        RenderScope scope = scope(player, null);
+        Template template = scope.get(key);
+        if (template == null) {
+            return missingKeys.miss(scope.lang, key.getName());
         }
+        return template.render(values, new PlayerResolver(scope.snapshot, player, scope.lang, null));
+    }
 
-        // Fast path: If no placeholders and no args, return pre-colorized content immediately
-        if (!cached.hasPlaceholders && !hasArgs) {
-            return cached.content;
+    /**
+     * Same as {@link #getTranslation(Player, TranslationKey, long[])}, for fractional numbers.
+     */
+    public String getTranslation(Player player, TranslationKey key, double[] values) {
+        RenderScope scope = scope(player, null);
+        Template template = scope.get(key);
+        if (template == null) {
+            return missingKeys.miss(scope.lang, key.getName());
+        }
+        return template.render(values, new PlayerResolver(scope.snapshot, player, scope.lang, null));
+    }
+
+    /**
+     * Translates many "key" or "key:arg0,arg1" strings for one player in a single pass.
+     * <p>
+     * The player's language, the snapshot and the render cache are looked up once, and each
+     * distinct PlaceholderAPI placeholder is resolved at most once across the whole batch.
+     *
+     * @return The translations, in the order of {@code keysWithArgs}.
+     */
+    public List<String> getTranslations(Player player, List<String> keysWithArgs) {
+        RenderScope scope = scope(player, new HashMap<>());
+        boolean papi = hasPlaceholderApi();
+        List<String> translations = new ArrayList<>(keysWithArgs.size());
+        for (String keyWithArgs : keysWithArgs) {
+            ParsedParams params = getParams(keyWithArgs);
+            translations.add(translate(scope, params.getKey(), params.getArgs(), papi && params.hasBracketArgs()));
         }
+        return translations;
+    }
 
-        // Apply args to template before caching check (args are dynamic)
-        String content = hasArgs ? applyArgs(cached.content, resolvedArgs) : cached.content;
+    /**
+     * Translates for a player from any thread.
+     * <p>
+     * Everything that doesn't need PlaceholderAPI is rendered right away on the calling thread.
+     * The remaining placeholders are resolved on the main thread, batched with those of every
+     * other request made in the same tick, and the future is completed there. Requests that
+     * need no placeholders, or are made from the main thread, complete immediately.
+     *
+     * @param keyWithArgs A plain key or a "key:arg0,arg1" string.
+     */
+    public CompletableFuture<String> getTranslationAsync(Player player, String keyWithArgs) {
+        ParsedParams params = getParams(keyWithArgs);
+        if (Bukkit.isPrimaryThread()) {
+            return CompletableFuture.completedFuture(getTranslation(player, params));
+        }
+        RenderScope scope = scope(player, null);
+        TranslationSnapshot current = scope.snapshot;
+        TranslationKey key = params.getKey();
+        String[] args = params.getArgs();
+        int keyId = key.id(current);
+        Template template = keyId >= 0 && keyId < scope.table.length ? scope.table[keyId] : null;
+        if (template == null) {
+            return CompletableFuture.completedFuture(missingKeys.miss(scope.lang, key.getName()));
+        }
+        if (!template.hasPlaceholders() && args.length == 0) {
+            return CompletableFuture.completedFuture(template.getSource());
+        }
+        if (params.hasBracketArgs()) {
+            // {bracket} args are resolved before rendering, so the whole render waits for the main thread
+            return defer(new PendingRender(player, null, params));
+        }
 
-        // When args are present, skip parsedMessageCache (args are dynamic per-invocation)
-        if (!hasArgs) {
-            String parsedCacheKey = uuid + ":" + lang + ":" + parsed.key.toLowerCase() + ":" + cached.hashCode();
-            String cachedParsed = parsedMessageCache.getIfPresent(parsedCacheKey);
-            if (cachedParsed != null) {
-                return cachedParsed;
+        long now = System.nanoTime();
+        if (args.length == 0 && scope.renders != null) {
+            // A current cached render only leaves volatile placeholders open
+            PartialRender cached = scope.renders.getIfPresent(renderKey(scope.langId, keyId));
+            if (cached != null && !cached.isExpired(now) && cached.getGeneration() == current.getGeneration()
+                    && cached.matches(template, scope.lang)) {
+                renderHits.increment();
+                return cached.isComplete() ? CompletableFuture.completedFuture(cached.getText())
+                        : defer(new PendingRender(player, cached, params));
             }
+        }
+
+        PartialResolver resolver = new PartialResolver(current, player, scope.lang, null, now, BakeMode.DEFERRED);
+        StringBuilder out = new StringBuilder(template.estimateLength(args));
+        template.appendTo(out, args, resolver, 0);
+        if (resolver.hasBracketRefArgs()) {
+            return defer(new PendingRender(player, null, params));
+        }
+        PartialRender render = resolver.finish(template, key.getName(), out);
+        return render.isComplete() ? CompletableFuture.completedFuture(render.getText())
+                : defer(new PendingRender(player, render, params));
+    }
+
+    /**
+     * An async request waiting for the main thread: either a render with placeholder holes,
+     * or (when {@code render} is null) a request that has to be rendered there entirely.
+     */
+    private static final class PendingRender {
+        final Player player;
+        final PartialRender render;
+        final ParsedParams params;
+        final CompletableFuture<String> future = new CompletableFuture<>();
+
+        PendingRender(Player player, PartialRender render, ParsedParams params) {
+            this.player = player;
+            this.render = render;
+            this.params = params;
+        }
+    }
 
-            // Handle internal %lang_*% placeholders
-            String result = parseInternalPlaceholders(player, content);
+    private CompletableFuture<String> defer(PendingRender pending) {
+        if (!plugin.isEnabled()) {
+            pending.future.completeExceptionally(new IllegalStateException("IGLanguages is disabled"));
+            return pending.future;
+        }
+        pendingRenders.add(pending);
+        if (drainScheduled.compareAndSet(false, true)) {
+            plugin.getServer().getScheduler().runTask(plugin, this::drainPendingRenders);
+        }
+        return pending.future;
+    }
 
-            // Only use PlaceholderAPI if other placeholders remain
-            if (containsPlaceholders(result)) {
-                result = PlaceholderAPI.setPlaceholders(player, result);
+    /**
+     * Completes every pending async request, resolving each placeholder once per player.
+     */
+    private void drainPendingRenders() {
+        // Cleared first, so requests queued while draining schedule another run if this one misses them
+        drainScheduled.set(false);
+        Map<UUID, Map<String, String>> values = new HashMap<>();
+        PendingRender pending;
+        while ((pending = pendingRenders.poll()) != null) {
+            Map<String, String> playerValues = values.computeIfAbsent(pending.player.getUniqueId(),
+                    uuid -> new HashMap<>());
+            try {
+                pending.future.complete(pending.render != null
+                        ? fill(pending.render, pending.player, playerValues)
+                        : translate(scope(pending.player, playerValues), pending.params.getKey(),
+                        pending.params.getArgs(), pending.params.hasBracketArgs() && hasPlaceholderApi()));
+            } catch (Exception e) {
+                pending.future.completeExceptionally(e);
             }
+        }
+    }
 
-            parsedMessageCache.put(parsedCacheKey, result);
-            return result;
+    /**
+     * Sends a translation to every online player, rendering it once per language in use.
+     * Must be called from the main thread.
+     *
+     * @param keyWithArgs A plain key or a "key:arg0,arg1" string.
+     */
+    public void broadcast(String keyWithArgs) {
+        Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+        Map<String, List<Player>> groups = new HashMap<>();
+        int grouped = 0;
+        for (String lang : playerLangs.languages()) {
+            Set<UUID> members = playerLangs.members(lang);
+            List<Player> players = new ArrayList<>(members.size());
+            for (UUID uuid : members) {
+                Player player = Bukkit.getPlayer(uuid);
+                if (player != null) {
+                    players.add(player);
+                }
+            }
+            if (!players.isEmpty()) {
+                groups.put(lang, players);
+                grouped += players.size();
+            }
+        }
+        if (grouped < online.size()) {
+            // Players whose language is still loading get the default language, like getTranslation
+            for (Player player : online) {
+                if (!playerLangs.contains(player.getUniqueId())) {
+                    groups.computeIfAbsent(defaultLang, l -> new ArrayList<>()).add(player);
+                }
+            }
+        }
+        sendGrouped(groups, getParams(keyWithArgs));
+    }
+
+    /**
+     * Sends a translation to the given players, rendering it once per language among them.
+     * Must be called from the main thread.
+     *
+     * @param keyWithArgs A plain key or a "key:arg0,arg1" string.
+     */
+    public void multicast(Collection<? extends Player> recipients, String keyWithArgs) {
+        Map<String, List<Player>> groups = new HashMap<>();
+        for (Player player : recipients) {
+            groups.computeIfAbsent(playerLangs.getOrDefault(player.getUniqueId(), defaultLang),
+                    l -> new ArrayList<>()).add(player);
+        }
+        sendGrouped(groups, getParams(keyWithArgs));
+    }
+
+    private void sendGrouped(Map<String, List<Player>> groups, ParsedParams params) {
+        TranslationSnapshot current = this.snapshot;
+        boolean bracketArgs = params.hasBracketArgs() && hasPlaceholderApi();
+        for (Map.Entry<String, List<Player>> group : groups.entrySet()) {
+            String lang = group.getKey();
+            List<Player> players = group.getValue();
+            Template template = current.get(lang, params.getKey());
+            if (template == null || bracketArgs) {
+                // Missing keys share one message; {bracket} args differ per player and can't be shared
+                for (Player player : players) {
+                    player.sendMessage(template == null ? missingKeys.miss(lang, params.getKey().getName())
+                            : getTranslation(player, params));
+                }
+                continue;
+            }
+            if (!template.hasPlaceholders() && params.getArgs().length == 0) {
+                send(players, template.getSource());
+                continue;
+            }
+
+            // Render once, leaving only per-player placeholders open
+            PartialResolver resolver = new PartialResolver(current, players.get(0), lang, null, System.nanoTime(),
+                    BakeMode.SHARED);
+            StringBuilder out = new StringBuilder(template.estimateLength(params.getArgs()));
+            template.appendTo(out, params.getArgs(), resolver, 0);
+            if (resolver.hasBracketRefArgs()) {
+                for (Player player : players) {
+                    player.sendMessage(getTranslation(player, params));
+                }
+                continue;
+            }
+            PartialRender render = resolver.finish(template, params.getKey().getName(), out);
+            if (render.isComplete()) {
+                send(players, render.getText());
+            } else {
+                for (Player player : players) {
+                    player.sendMessage(fill(render, player, null));
+                }
+            }
+        }
+    }
+
+    private static void send(List<Player> players, String message) {
+        for (Player player : players) {
+            player.sendMessage(message);
+        }
+    }
+
+    /**
+     * State shared by the renders of one call or batch for a player.
+     */
+    private static final class RenderScope {
+        final Player player;
+        final String lang;
+        final TranslationSnapshot snapshot;
+        // Language ID with the default-language fallback applied, -1 if nothing is loaded
+        final int langId;
+        final Template[] table;
+        final Cache<Long, PartialRender> renders;
+        // Placeholder values already resolved in this batch, null for single calls
+        final Map<String, String> values;
+
+        RenderScope(Player player, String lang, TranslationSnapshot snapshot, Cache<Long, PartialRender> renders,
+                    Map<String, String> values) {
+            this.player = player;
+            this.lang = lang;
+            this.snapshot = snapshot;
+            int langId = snapshot.langId(lang);
+            this.langId = langId < 0 ? snapshot.getDefaultLangId() : langId;
+            this.table = snapshot.table(this.langId);
+            this.renders = renders;
+            this.values = values;
+        }
+
+        Template get(TranslationKey key) {
+            int keyId = key.id(snapshot);
+            return keyId >= 0 && keyId < table.length ? table[keyId] : null;
+        }
+    }
+
+    private RenderScope scope(Player player, Map<String, String> values) {
+        UUID uuid = player.getUniqueId();
+        return new RenderScope(player, playerLangs.getOrDefault(uuid, defaultLang), this.snapshot,
+                renderCaches.get(uuid), values);
+    }
+
+    /**
+     * @param resolveBrackets True to resolve {bracket} placeholders in args. Callers pass false when no
+     *                        argument contains one or PlaceholderAPI isn't installed.
+     */
+    private String translate(RenderScope scope, TranslationKey key, String[] args, boolean resolveBrackets) {
+        Player player = scope.player;
+        String lang = scope.lang;
+        TranslationSnapshot current = scope.snapshot;
+        boolean hasArgs = args.length > 0;
+
+        int keyId = key.id(current);
+        Template template = keyId >= 0 && keyId < scope.table.length ? scope.table[keyId] : null;
+
+        if (template == null) {
+            return missingKeys.miss(lang, key.getName());
         }
 
-        // Args present: resolve placeholders but don't cache
-        String result = parseInternalPlaceholders(player, content);
-        if (containsPlaceholders(result)) {
-            result = PlaceholderAPI.setPlaceholders(player, result);
+        // Fast path: If no placeholders and no args, return pre-colorized content immediately
+        if (!template.hasPlaceholders() && !hasArgs) {
+            return template.getSource();
+        }
+
+        // When args are present, skip the render cache (args are dynamic per-invocation)
+        if (hasArgs) {
+            // Resolve bracket PAPI placeholders in args (e.g. {server_online})
+            return template.render(resolveBrackets ? resolveBracketArgs(player, args, scope.values) : args,
+                    new PlayerResolver(current, player, lang, scope.values));
+        }
+
+        Cache<Long, PartialRender> renders = scope.renders;
+        if (renders == null) {
+            // Not a loaded player (e.g. an NPC), nothing to cache against
+            return template.render(args, new PlayerResolver(current, player, lang, scope.values));
+        }
+
+        // Keyed by IDs; entries are stamped with the snapshot generation they were rendered from,
+        // and entries from an older snapshot are restamped if nothing they depend on changed
+        int generation = current.getGeneration();
+        long renderKey = renderKey(scope.langId, keyId);
+        long now = System.nanoTime();
+        PartialRender cached = renders.getIfPresent(renderKey);
+        if (cached != null && cached.isExpired(now)) {
+            cached = null;
+        }
+        if (cached != null && cached.getGeneration() == generation && cached.matches(template, lang)) {
+            renderHits.increment();
+        } else {
+            boolean stale = cached != null && cached.getGeneration() != generation
+                    && cached.getLang().equals(lang) && cached.getKey().equals(key.getName());
+            PartialRender revalidated = stale ? revalidate(cached, template, current) : null;
+            if (revalidated != null) {
+                renderRevalidated.increment();
+                cached = revalidated;
+            } else {
+                (stale ? renderStale : renderMisses).increment();
+                // Stable placeholders are resolved once and baked in; volatile ones stay open
+                PartialResolver resolver = new PartialResolver(current, player, lang, scope.values, now);
+                StringBuilder out = new StringBuilder(template.estimateLength(args));
+                template.appendTo(out, args, resolver, 0);
+                cached = resolver.finish(template, key.getName(), out);
+            }
+            renders.put(renderKey, cached);
         }
-        return result;
+        return cached.isComplete() ? cached.getText() : fill(cached, player, scope.values);
+    }
+
+    /**
+     * Resolves the volatile placeholders left open in a cached render.
+     */
+    private String fill(PartialRender render, Player player, Map<String, String> values) {
+        String[] parts = render.getParts();
+        String[] holes = render.getHoles();
+        StringBuilder out = new StringBuilder(render.estimateLength());
+        for (int i = 0; i < holes.length; i++) {
+            out.append(parts[i]).append(resolvePlaceholder(player, holes[i], values));
+        }
+        return out.append(parts[holes.length]).toString();
     }
 
     /**
@@ -397,30 +1038,80 @@ public class LangManager {
      * Used by ProtocolLibHook which runs on Netty IO threads.
      */
     public String getSimpleTranslation(String lang, String keyWithArgs) {
-        ParsedKey parsed = parseKeyWithArgs(keyWithArgs);
-        CachedTranslation cached = getCachedTranslation(lang, parsed.key);
-        if (cached == null) return null;
-        return applyArgs(cached.content, parsed.args);
+        // Look the key up in place, so only arguments (if any) are ever split out
+        int colonIdx = keyWithArgs.indexOf(':');
+        int keyEnd = colonIdx == -1 ? keyWithArgs.length() : colonIdx;
+        Template template = snapshot.get(lang, keyWithArgs, 0, keyEnd);
+        if (template == null) return null;
+        return template.render(colonIdx == -1 ? Template.NO_ARGS : Template.splitArgs(keyWithArgs, colonIdx + 1), null);
+    }
+
+    /**
+     * Same as {@link #getSimpleTranslation}, but escaped for embedding in a JSON string (without quotes).
+     * Translation text is escaped at load time; only arguments are escaped here.
+     */
+    public String getSimpleJsonTranslation(String lang, String keyWithArgs) {
+        int colonIdx = keyWithArgs.indexOf(':');
+        int keyEnd = colonIdx == -1 ? keyWithArgs.length() : colonIdx;
+        Template template = snapshot.get(lang, keyWithArgs, 0, keyEnd);
+        if (template == null) return null;
+        return template.renderJson(colonIdx == -1 ? Template.NO_ARGS : Template.splitArgs(keyWithArgs, colonIdx + 1));
     }
 
     public String getLangTranslation(String lang, String keyWithArgs) {
-        ParsedKey parsed = parseKeyWithArgs(keyWithArgs);
+        if (keyWithArgs.indexOf(':') == -1) {
+            return getLangTranslation(lang, getKey(keyWithArgs), Template.NO_ARGS);
+        }
+        ParsedParams parsed = getParams(keyWithArgs);
+        return getLangTranslation(lang, parsed.getKey(), parsed.getArgs());
+    }
 
-        CachedTranslation cached = getCachedTranslation(lang, parsed.key);
-        if (cached != null) {
-            return applyArgs(cached.content, parsed.args);
+    /**
+     * Translates a pre-resolved key in a given language, without PlaceholderAPI resolution.
+     */
+    public String getLangTranslation(String lang, TranslationKey key, String... args) {
+        Template template = snapshot.get(lang, key);
+        if (template == null) {
+            return missingKeys.miss(lang, key.getName());
         }
 
-        Map<String, Map<String, String>> snapshot = this.translations;
-        Map<String, String> langMap = snapshot.getOrDefault(lang, Collections.emptyMap());
-        Map<String, String> defaultMap = snapshot.getOrDefault(defaultLang, Collections.emptyMap());
-        String translation = langMap.getOrDefault(parsed.key.toLowerCase(), defaultMap.get(parsed.key.toLowerCase()));
+        return template.render(args, null);
+    }
 
-        if (translation == null) {
-            return MessageUtil.getMessage(plugin.getMessagesConfig(), "translation_not_found", "{key}", parsed.key);
-        }
+    /**
+     * Translates with numeric arguments in a given language, without PlaceholderAPI resolution.
+     */
+    public String getLangTranslation(String lang, TranslationKey key, long[] values) {
+        Template template = snapshot.get(lang, key);
+        return template == null ? missingKeys.miss(lang, key.getName()) : template.render(values, null);
+    }
 
-        return applyArgs(MessageUtil.colorize(translation), parsed.args);
+    /**
+     * Same as {@link #getLangTranslation(String, TranslationKey, long[])}, for fractional numbers.
+     */
+    public String getLangTranslation(String lang, TranslationKey key, double[] values) {
+        Template template = snapshot.get(lang, key);
+        return template == null ? missingKeys.miss(lang, key.getName()) : template.render(values, null);
+    }
+
+    /**
+     * Translates many "key" or "key:arg0,arg1" strings in a given language in a single pass,
+     * without PlaceholderAPI resolution. The language table is looked up once for the batch.
+     *
+     * @return The translations, in the order of {@code keysWithArgs}.
+     */
+    public List<String> getLangTranslations(String lang, List<String> keysWithArgs) {
+        TranslationSnapshot current = this.snapshot;
+        Template[] table = current.table(lang);
+        List<String> translations = new ArrayList<>(keysWithArgs.size());
+        for (String keyWithArgs : keysWithArgs) {
+            ParsedParams params = getParams(keyWithArgs);
+            int keyId = params.getKey().id(current);
+            Template template = keyId >= 0 && keyId < table.length ? table[keyId] : null;
+            translations.add(template == null ? missingKeys.miss(lang, params.getKey().getName())
+                    : template.render(params.getArgs(), null));
+        }
+        return translations;
     }
 
     public String detectClientLanguage(Player player) {
@@ -436,91 +1127,182 @@ public class LangManager {
         return defaultLang;
     }
 
-    public void clearCache() {
-        translationCache.invalidateAll();
-        parsedMessageCache.invalidateAll();
+    public MissingKeyTracker getMissingKeys() {
+        return missingKeys;
     }
 
-    /**
-     * Helper method to get cached translation object
-     */
-    private CachedTranslation getCachedTranslation(String lang, String key) {
-        String cacheKey = lang + ":" + key.toLowerCase();
-
-        CachedTranslation cached = translationCache.getIfPresent(cacheKey);
-        if (cached != null) {
-            return cached;
-        }
-
-        Map<String, Map<String, String>> snapshot = this.translations;
-        Map<String, String> langMap = snapshot.getOrDefault(lang, Collections.emptyMap());
-        Map<String, String> defaultMap = snapshot.getOrDefault(defaultLang, Collections.emptyMap());
-        String translation = langMap.getOrDefault(key.toLowerCase(), defaultMap.get(key.toLowerCase()));
-
-        if (translation != null) {
-            String colorized = MessageUtil.colorize(translation);
-            boolean hasPlaceholders = containsPlaceholders(colorized);
-            cached = new CachedTranslation(colorized, hasPlaceholders);
-            translationCache.put(cacheKey, cached);
+    public void clearCache() {
+        for (Cache<Long, PartialRender> renders : renderCaches.values()) {
+            renders.invalidateAll();
         }
-
-        return cached;
+        placeholders.clear();
     }
 
     /**
-     * Helper method to get raw translation from cache or translations map
-     * 
-     * @deprecated Use getCachedTranslation instead
+     * Resolves nested %lang_*% references and PlaceholderAPI placeholders for a player while rendering.
      */
-    private String getRawTranslation(String lang, String key) {
-        CachedTranslation cached = getCachedTranslation(lang, key);
-        return cached != null ? cached.content : null;
-    }
+    private class PlayerResolver implements Template.Resolver {
+        protected final TranslationSnapshot snapshot;
+        protected final Player player;
+        protected final String lang;
+        protected final Map<String, String> values;
+
+        PlayerResolver(TranslationSnapshot snapshot, Player player, String lang, Map<String, String> values) {
+            this.snapshot = snapshot;
+            this.player = player;
+            this.lang = lang;
+            this.values = values;
+        }
 
-    // Immutable value object for caching
-    private static class CachedTranslation {
-        public final String content;
-        public final boolean hasPlaceholders;
+        @Override
+        public void appendLangRef(StringBuilder out, String key, String[] args, int depth) {
+            Template nested = depth < MAX_REF_DEPTH ? snapshot.get(lang, key) : null;
+            if (nested == null) {
+                if (depth < MAX_REF_DEPTH) {
+                    missingKeys.missNested(lang, KeyIndex.normalize(key));
+                }
+                out.append("Translation not found: ").append(key);
+                return;
+            }
+            String[] innerArgs = args.length > 0 && player != null && hasPlaceholderApi()
+                    ? resolveBracketArgs(player, args, values) : args;
+            nested.appendTo(out, innerArgs, this, depth + 1);
+        }
 
-        public CachedTranslation(String content, boolean hasPlaceholders) {
-            this.content = content;
-            this.hasPlaceholders = hasPlaceholders;
+        @Override
+        public void appendExternal(StringBuilder out, String placeholder) {
+            out.append(resolvePlaceholder(player, placeholder, values));
         }
 
         @Override
-        public int hashCode() {
-            return content.hashCode();
+        public void appendArg(StringBuilder out, String value, int depth) {
+            // Args may carry their own placeholders (e.g. %player_name%); scanned in place, since
+            // arg values change with every render and compiling them would cost more than it saves
+            int copied = 0;
+            int start = value.indexOf('%');
+            while (start != -1) {
+                int end = value.indexOf('%', start + 1);
+                if (end == -1) {
+                    break;
+                }
+                if (end == start + 1) {
+                    // "%%" never forms a placeholder; the second '%' may open one
+                    start = end;
+                    continue;
+                }
+                out.append(value, copied, start);
+                if (value.startsWith("lang_", start + 1) && end > start + 6) {
+                    int colon = value.indexOf(':', start + 6);
+                    boolean hasArgs = colon != -1 && colon < end;
+                    String key = KeyIndex.normalize(value.substring(start + 6, hasArgs ? colon : end));
+                    String[] args = hasArgs ? Template.splitArgs(value.substring(0, end), colon + 1) : Template.NO_ARGS;
+                    appendLangRef(out, key, args, depth + 1);
+                } else {
+                    appendExternal(out, value.substring(start, end + 1));
+                }
+                copied = end + 1;
+                start = value.indexOf('%', copied);
+            }
+            out.append(value, copied, value.length());
         }
     }
 
     /**
-     * Check if text contains any placeholders
+     * Which placeholders a {@link PartialResolver} resolves while rendering.
      */
-    private boolean containsPlaceholders(String text) {
-        return PLACEHOLDER_PATTERN.matcher(text).find();
+    private enum BakeMode {
+        /** Stable classes with a TTL; the render is cached for one player. */
+        CACHED,
+        /** Everything that is the same for every player; the render is sent to many players. */
+        SHARED,
+        /** Nothing; every placeholder is left for the main thread. Safe off the main thread. */
+        DEFERRED
     }
 
     /**
-     * Parse internal %lang_*% placeholders directly without PlaceholderAPI
+     * Renders into a {@link PartialRender}: placeholders are resolved and baked in or left as
+     * holes to resolve later, depending on the {@link BakeMode}.
      */
-    private String parseInternalPlaceholders(Player player, String text) {
-        Matcher matcher = LANG_PLACEHOLDER_PATTERN.matcher(text);
-        StringBuffer result = new StringBuffer();
+    private class PartialResolver extends PlayerResolver {
+        private final long now;
+        private final BakeMode mode;
+        private final List<String> parts = new ArrayList<>();
+        private final List<String> holes = new ArrayList<>();
+        private long expiresAt = PartialRender.NEVER;
+        private boolean bracketRefArgs;
+
+        PartialResolver(TranslationSnapshot snapshot, Player player, String lang, Map<String, String> values,
+                        long now) {
+            this(snapshot, player, lang, values, now, BakeMode.CACHED);
+        }
+
+        PartialResolver(TranslationSnapshot snapshot, Player player, String lang, Map<String, String> values,
+                        long now, BakeMode mode) {
+            super(snapshot, player, lang, values);
+            this.now = now;
+            this.mode = mode;
+        }
 
-        while (matcher.find()) {
-            String captured = matcher.group(1);
-            ParsedKey parsed = parseKeyWithArgs(captured);
-            String[] innerArgs = parsed.args.length > 0 ? resolveArgs(player, parsed.args) : parsed.args;
+        @Override
+        public void appendLangRef(StringBuilder out, String key, String[] args, int depth) {
+            if (mode != BakeMode.CACHED) {
+                for (String arg : args) {
+                    // {bracket} args of nested references can't be left as holes
+                    if (arg.indexOf('{') != -1) {
+                        bracketRefArgs = true;
+                        if (mode == BakeMode.DEFERRED) {
+                            return;
+                        }
+                        break;
+                    }
+                }
+            }
+            super.appendLangRef(out, key, args, depth);
+        }
 
-            String translation = getRawTranslation(getPlayerLang(player.getUniqueId()), parsed.key);
-            if (translation != null) {
-                translation = applyArgs(translation, innerArgs);
+        @Override
+        public void appendExternal(StringBuilder out, String placeholder) {
+            PlaceholderCache.Volatility volatility = placeholders.classify(placeholder);
+            long ttl = placeholders.ttlNanos(volatility);
+            boolean bake;
+            switch (mode) {
+                case SHARED:
+                    bake = !volatility.isPerPlayer();
+                    break;
+                case DEFERRED:
+                    bake = false;
+                    break;
+                default:
+                    bake = volatility.isStable() && ttl > 0;
+                    break;
+            }
+            if (bake) {
+                super.appendExternal(out, placeholder);
+                expiresAt = Math.min(expiresAt, now + ttl);
             } else {
-                translation = "Translation not found: " + parsed.key;
+                parts.add(out.toString());
+                out.setLength(0);
+                holes.add(placeholder);
+            }
+        }
+
+        /**
+         * True if a nested reference had {bracket} args. A shared render then holds values of one
+         * player, and a deferred render is incomplete; either way it has to be rendered per player.
+         */
+        boolean hasBracketRefArgs() {
+            return bracketRefArgs;
+        }
+
+        PartialRender finish(Template template, String key, StringBuilder out) {
+            long fingerprint = snapshot.fingerprint(lang, template, MAX_REF_DEPTH);
+            if (holes.isEmpty()) {
+                return new PartialRender(template, lang, key, snapshot.getGeneration(), fingerprint,
+                        out.toString(), expiresAt);
             }
-            matcher.appendReplacement(result, Matcher.quoteReplacement(translation));
+            parts.add(out.toString());
+            return new PartialRender(template, lang, key, snapshot.getGeneration(), fingerprint,
+                    parts.toArray(new String[0]), holes.toArray(new String[0]), expiresAt);
         }
-        matcher.appendTail(result);
-        return result.toString();
     }
 }
@@ -0,0 +1,210 @@
+package me.icegames.iglanguages.manager;
+
+import me.icegames.iglanguages.IGLanguages;
+import me.icegames.iglanguages.util.MessageUtil;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Remembers translation keys that were requested but don't exist.
+ * <p>
+ * The "translation not found" message for a missing (language, key) pair is
+ * built once and reused until the next reload, so a typo in a frequently
+ * rendered config doesn't re-read and colorize messages.yml on every call.
+ * Misses are counted per pair; newly missing keys are logged at most once per
+ * {@code missingKeys.logIntervalSeconds}, and a report sorted by hit count is
+ * written to {@code missing-keys.txt} at most once per
+ * {@code missingKeys.reportIntervalSeconds}.
+ */
+public class MissingKeyTracker {
+
+    // Pairs beyond this are still answered, just not remembered
+    private static final int MAX_TRACKED = 10_000;
+
+    /**
+     * A missing (language, key) pair.
+     */
+    public static final class Missing {
+        public final String lang;
+        public final String key;
+        public final long firstSeen;
+        private final LongAdder hits = new LongAdder();
+        private volatile String message;
+
+        Missing(String lang, String key) {
+            this.lang = lang;
+            this.key = key;
+            this.firstSeen = System.currentTimeMillis();
+        }
+
+        public long getHits() {
+            return hits.sum();
+        }
+    }
+
+    private final IGLanguages plugin;
+    private final File reportFile;
+    // (lang, key) -> true if the key is still missing in the current snapshot
+    private final BiPredicate<String, String> stillMissing;
+    // lang -> key -> entry; two lookups so a repeated miss allocates nothing
+    private final Map<String, Map<String, Missing>> missing = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong lastLog = new AtomicLong();
+    private final AtomicInteger unlogged = new AtomicInteger();
+    private final AtomicLong lastReport = new AtomicLong();
+    private volatile long logIntervalMillis;
+    private volatile long reportIntervalMillis;
+
+    public MissingKeyTracker(IGLanguages plugin, BiPredicate<String, String> stillMissing) {
+        this.plugin = plugin;
+        this.reportFile = new File(plugin.getDataFolder(), "missing-keys.txt");
+        this.stillMissing = stillMissing;
+        reload(plugin.getConfig());
+    }
+
+    /**
+     * Re-reads the intervals and drops the cached messages so they are rebuilt from
+     * messages.yml. Hit counts are kept; pairs that exist now are left out of reports.
+     */
+    public void reload(FileConfiguration config) {
+        this.logIntervalMillis = TimeUnit.SECONDS.toMillis(config.getLong("missingKeys.logIntervalSeconds", 60));
+        this.reportIntervalMillis = TimeUnit.SECONDS.toMillis(config.getLong("missingKeys.reportIntervalSeconds", 300));
+        for (Map<String, Missing> keys : missing.values()) {
+            for (Missing entry : keys.values()) {
+                entry.message = null;
+            }
+        }
+    }
+
+    /**
+     * Records a miss and returns the "translation not found" message for it.
+     *
+     * @param key Normalized key.
+     */
+    public String miss(String lang, String key) {
+        Missing entry = record(lang, key);
+        if (entry == null) {
+            return notFoundMessage(key);
+        }
+        String message = entry.message;
+        if (message == null) {
+            message = notFoundMessage(key);
+            entry.message = message;
+        }
+        return message;
+    }
+
+    /**
+     * Records a miss of a nested %lang_*% reference, which renders its own fallback text.
+     */
+    public void missNested(String lang, String key) {
+        record(lang, key);
+    }
+
+    private Missing record(String lang, String key) {
+        Map<String, Missing> keys = missing.get(lang);
+        Missing entry = keys == null ? null : keys.get(key);
+        if (entry == null) {
+            if (size.get() >= MAX_TRACKED) {
+                return null;
+            }
+            entry = missing.computeIfAbsent(lang, l -> new ConcurrentHashMap<>()).computeIfAbsent(key, k -> {
+                size.incrementAndGet();
+                Missing created = new Missing(lang, k);
+                logNew(created);
+                return created;
+            });
+        }
+        entry.hits.increment();
+        scheduleReportIfDue();
+        return entry;
+    }
+
+    private String notFoundMessage(String key) {
+        return MessageUtil.getMessage(plugin.getMessagesConfig(), "translation_not_found", "{key}", key);
+    }
+
+    private void logNew(Missing entry) {
+        long now = System.currentTimeMillis();
+        long last = lastLog.get();
+        if (now - last < logIntervalMillis || !lastLog.compareAndSet(last, now)) {
+            unlogged.incrementAndGet();
+            return;
+        }
+        int others = unlogged.getAndSet(0);
+        plugin.getLogger().warning("Missing translation '" + entry.key + "' for language '" + entry.lang + "'"
+                + (others > 0 ? " (and " + others + " more since the last warning)" : "")
+                + ". See /languages missing or missing-keys.txt.");
+    }
+
+    /**
+     * Pairs that are still missing, sorted by hit count, most hit first.
+     */
+    public List<Missing> report() {
+        List<Missing> list = new ArrayList<>();
+        for (Map<String, Missing> keys : missing.values()) {
+            for (Missing entry : keys.values()) {
+                if (stillMissing.test(entry.lang, entry.key)) {
+                    list.add(entry);
+                }
+            }
+        }
+        list.sort(Comparator.comparingLong(Missing::getHits).reversed());
+        return list;
+    }
+
+    /**
+     * Writes the report asynchronously if anything changed and the report interval has passed.
+     */
+    private void scheduleReportIfDue() {
+        long interval = reportIntervalMillis;
+        long now = System.currentTimeMillis();
+        long last = lastReport.get();
+        if (interval <= 0 || now - last < interval || !lastReport.compareAndSet(last, now)) {
+            return;
+        }
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::writeReport);
+    }
+
+    /**
+     * Writes the report to missing-keys.txt now.
+     *
+     * @return The file written to.
+     */
+    public synchronized File writeReport() {
+        List<Missing> entries = report();
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8))) {
+            out.println("# Missing translation keys, most requested first (written " + format.format(new Date()) + ")");
+            out.println("# hits | language | key | first seen");
+            for (Missing entry : entries) {
+                out.println(entry.getHits() + " | " + entry.lang + " | " + entry.key + " | "
+                        + format.format(new Date(entry.firstSeen)));
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write " + reportFile.getName() + ": " + e.getMessage());
+        }
+        return reportFile;
+    }
+
+    public int size() {
+        return size.get();
+    }
+}
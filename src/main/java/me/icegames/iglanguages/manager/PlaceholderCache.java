@@ -0,0 +1,209 @@
+package me.icegames.iglanguages.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Classifies PlaceholderAPI placeholders by how often their value changes and for
+ * whom, and caches resolved values accordingly.
+ * <p>
+ * Classes and TTLs come from the {@code placeholders} section of config.yml.
+ * Placeholders are matched by identifier (the text between the '%' characters),
+ * either exactly or by a prefix ending in '*'.
+ */
+public class PlaceholderCache {
+
+    /**
+     * How a placeholder's value varies.
+     */
+    public enum Volatility {
+        /** Same for every player and rarely changes (e.g. %server_name%). */
+        STATIC("static", false),
+        /** Depends on the player but rarely changes (e.g. %player_name%). */
+        PER_PLAYER("per_player", true),
+        /** Same for every player but changes often (e.g. %server_online%). */
+        GLOBAL_VOLATILE("global_volatile", false),
+        /** Depends on the player and changes often (e.g. %player_health%). */
+        PER_PLAYER_VOLATILE("per_player_volatile", true);
+
+        private final String configName;
+        private final boolean perPlayer;
+
+        Volatility(String configName, boolean perPlayer) {
+            this.configName = configName;
+            this.perPlayer = perPlayer;
+        }
+
+        public String getConfigName() {
+            return configName;
+        }
+
+        public boolean isPerPlayer() {
+            return perPlayer;
+        }
+
+        /**
+         * True for classes whose values may be baked into a cached render.
+         */
+        public boolean isStable() {
+            return this == STATIC || this == PER_PLAYER;
+        }
+
+        static Volatility fromConfig(String name, Volatility fallback) {
+            if (name != null) {
+                for (Volatility volatility : values()) {
+                    if (volatility.configName.equalsIgnoreCase(name.trim())) {
+                        return volatility;
+                    }
+                }
+            }
+            return fallback;
+        }
+    }
+
+    private static final long[] DEFAULT_TTL_MILLIS = {600_000, 300_000, 1_000, 0};
+
+    private final Map<Volatility, Long> ttlNanos = new EnumMap<>(Volatility.class);
+    private final Map<String, Volatility> exact = new ConcurrentHashMap<>();
+    private final List<String> prefixes = new ArrayList<>();
+    private final List<Volatility> prefixClasses = new ArrayList<>();
+    private final Volatility defaultClass;
+    // Memoized classification, keyed by the placeholder text including '%'
+    private final Map<String, Volatility> classified = new ConcurrentHashMap<>();
+    // Values of player-independent placeholders, one cache per class
+    private final Cache<String, String> staticValues;
+    private final Cache<String, String> globalVolatileValues;
+    // uuid -> (placeholder -> value), only used when the per_player_volatile TTL is above 0;
+    // keyed in two levels so a lookup doesn't build a "uuid:placeholder" string
+    private final Cache<UUID, Cache<String, String>> playerVolatileValues;
+    private final Function<UUID, Cache<String, String>> newPlayerValues =
+            uuid -> valueCache(Volatility.PER_PLAYER_VOLATILE, 64);
+
+    public PlaceholderCache(FileConfiguration config) {
+        ConfigurationSection section = config.getConfigurationSection("placeholders");
+        for (Volatility volatility : Volatility.values()) {
+            long millis = section == null ? DEFAULT_TTL_MILLIS[volatility.ordinal()]
+                    : section.getLong("ttl." + volatility.getConfigName(), DEFAULT_TTL_MILLIS[volatility.ordinal()]);
+            ttlNanos.put(volatility, TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis)));
+
+            List<String> patterns = section == null ? null : section.getStringList(volatility.getConfigName());
+            if (patterns == null) {
+                continue;
+            }
+            for (String pattern : patterns) {
+                String normalized = pattern.toLowerCase(Locale.ROOT).replace("%", "").trim();
+                if (normalized.endsWith("*")) {
+                    prefixes.add(normalized.substring(0, normalized.length() - 1));
+                    prefixClasses.add(volatility);
+                } else if (!normalized.isEmpty()) {
+                    exact.put(normalized, volatility);
+                }
+            }
+        }
+        this.defaultClass = Volatility.fromConfig(section == null ? null : section.getString("default"),
+                Volatility.PER_PLAYER);
+
+        this.staticValues = valueCache(Volatility.STATIC, 256);
+        this.globalVolatileValues = valueCache(Volatility.GLOBAL_VOLATILE, 256);
+        this.playerVolatileValues = Caffeine.newBuilder()
+                .maximumSize(1024)
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .build();
+    }
+
+    private Cache<String, String> valueCache(Volatility volatility, int size) {
+        return Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(Math.max(1, ttlNanos.get(volatility)), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the class of a placeholder, including its surrounding '%' characters.
+     */
+    public Volatility classify(String placeholder) {
+        Volatility volatility = classified.get(placeholder);
+        if (volatility == null) {
+            volatility = lookup(placeholder);
+            if (classified.size() < 4096) {
+                classified.put(placeholder, volatility);
+            }
+        }
+        return volatility;
+    }
+
+    private Volatility lookup(String placeholder) {
+        String identifier = placeholder.length() >= 2 && placeholder.charAt(0) == '%'
+                ? placeholder.substring(1, placeholder.length() - 1).toLowerCase(Locale.ROOT)
+                : placeholder.toLowerCase(Locale.ROOT);
+        Volatility volatility = exact.get(identifier);
+        if (volatility != null) {
+            return volatility;
+        }
+        // Longest matching prefix wins
+        int best = -1;
+        for (int i = 0; i < prefixes.size(); i++) {
+            if (identifier.startsWith(prefixes.get(i)) && (best == -1 || prefixes.get(i).length() > prefixes.get(best).length())) {
+                best = i;
+            }
+        }
+        return best == -1 ? defaultClass : prefixClasses.get(best);
+    }
+
+    /**
+     * How long a value of the given class may be reused, in nanoseconds. 0 means never.
+     */
+    public long ttlNanos(Volatility volatility) {
+        return ttlNanos.get(volatility);
+    }
+
+    /**
+     * Resolves a placeholder for a player, reusing a cached value while its class TTL allows.
+     * Per-player placeholders of the stable class are not cached here; renders that contain
+     * them are cached as a whole instead.
+     */
+    public String resolve(Player player, String placeholder) {
+        Volatility volatility = classify(placeholder);
+        if (ttlNanos.get(volatility) == 0) {
+            return PlaceholderAPI.setPlaceholders(player, placeholder);
+        }
+        switch (volatility) {
+            case STATIC:
+                return staticValues.get(placeholder, p -> PlaceholderAPI.setPlaceholders(player, p));
+            case GLOBAL_VOLATILE:
+                return globalVolatileValues.get(placeholder, p -> PlaceholderAPI.setPlaceholders(player, p));
+            case PER_PLAYER_VOLATILE:
+                Cache<String, String> values = playerVolatileValues.get(player.getUniqueId(), newPlayerValues);
+                String value = values.getIfPresent(placeholder);
+                if (value == null) {
+                    value = PlaceholderAPI.setPlaceholders(player, placeholder);
+                    if (value != null) {
+                        values.put(placeholder, value);
+                    }
+                }
+                return value;
+            default:
+                return PlaceholderAPI.setPlaceholders(player, placeholder);
+        }
+    }
+
+    public void clear() {
+        staticValues.invalidateAll();
+        globalVolatileValues.invalidateAll();
+        playerVolatileValues.invalidateAll();
+    }
+}
@@ -0,0 +1,231 @@
+package me.icegames.iglanguages.manager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Languages of the players known to this server.
+ * <p>
+ * Each player is stored with a small language ID rather than a string. The
+ * registry keeps a member set and a counter per language and a case-insensitive
+ * name index, all updated on every load, change and unload, so "who speaks
+ * pt_br" and "how many players per language" never scan all players.
+ * Language IDs are local to the registry and stay valid across reloads, even
+ * for languages that are no longer loaded.
+ */
+public class PlayerLangRegistry {
+
+    /**
+     * Notified after a player's language is loaded, changed or unloaded.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        /**
+         * @param previous The previous language, or null if the player had none.
+         * @param lang     The new language, or null if the player was unloaded.
+         */
+        void onLanguageChange(UUID uuid, String previous, String lang);
+    }
+
+    private static final class Entry {
+        final int langId;
+        final String name;
+
+        Entry(int langId, String name) {
+            this.langId = langId;
+            this.name = name;
+        }
+    }
+
+    private final Map<UUID, Entry> players = new ConcurrentHashMap<>();
+    private final Map<String, UUID> names = new ConcurrentHashMap<>();
+    private final Map<String, Integer> langIds = new ConcurrentHashMap<>();
+    // Indexed by language ID; only ever appended to
+    private final List<String> langCodes = new CopyOnWriteArrayList<>();
+    private final List<Set<UUID>> members = new CopyOnWriteArrayList<>();
+    private final List<AtomicInteger> counts = new CopyOnWriteArrayList<>();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns the ID of a language code, assigning one the first time it is seen.
+     */
+    public int langId(String lang) {
+        Integer id = langIds.get(lang);
+        if (id != null) {
+            return id;
+        }
+        synchronized (langCodes) {
+            return langIds.computeIfAbsent(lang, code -> {
+                members.add(ConcurrentHashMap.newKeySet());
+                counts.add(new AtomicInteger());
+                langCodes.add(code);
+                return langCodes.size() - 1;
+            });
+        }
+    }
+
+    public String langCode(int langId) {
+        return langCodes.get(langId);
+    }
+
+    /**
+     * Returns a player's language, or null if none is loaded.
+     */
+    public String get(UUID uuid) {
+        Entry entry = players.get(uuid);
+        return entry == null ? null : langCodes.get(entry.langId);
+    }
+
+    public String getOrDefault(UUID uuid, String fallback) {
+        Entry entry = players.get(uuid);
+        return entry == null ? fallback : langCodes.get(entry.langId);
+    }
+
+    /**
+     * Returns a player's language ID, or -1 if none is loaded.
+     */
+    public int getId(UUID uuid) {
+        Entry entry = players.get(uuid);
+        return entry == null ? -1 : entry.langId;
+    }
+
+    public boolean contains(UUID uuid) {
+        return players.containsKey(uuid);
+    }
+
+    /**
+     * Sets a player's language.
+     *
+     * @param name The player's name for the name index, or null to keep the indexed one.
+     * @return The previous language, or null.
+     */
+    public String put(UUID uuid, String name, String lang) {
+        int langId = langId(lang);
+        Entry[] previous = new Entry[1];
+        players.compute(uuid, (id, old) -> {
+            previous[0] = old;
+            String newName = name != null ? name.toLowerCase() : old == null ? null : old.name;
+            if (old != null && old.langId == langId && Objects.equals(old.name, newName)) {
+                return old;
+            }
+            if (old == null || old.langId != langId) {
+                if (old != null) {
+                    leave(old.langId, uuid);
+                }
+                members.get(langId).add(uuid);
+                counts.get(langId).incrementAndGet();
+            }
+            if (old != null && old.name != null && !old.name.equals(newName)) {
+                names.remove(old.name, uuid);
+            }
+            if (newName != null) {
+                names.put(newName, uuid);
+            }
+            return new Entry(langId, newName);
+        });
+        String previousLang = previous[0] == null ? null : langCodes.get(previous[0].langId);
+        if (!lang.equals(previousLang)) {
+            fire(uuid, previousLang, lang);
+        }
+        return previousLang;
+    }
+
+    /**
+     * Forgets a player, e.g. when they leave.
+     *
+     * @return The language they had, or null.
+     */
+    public String remove(UUID uuid) {
+        Entry[] removed = new Entry[1];
+        players.computeIfPresent(uuid, (id, old) -> {
+            removed[0] = old;
+            leave(old.langId, uuid);
+            if (old.name != null) {
+                names.remove(old.name, uuid);
+            }
+            return null;
+        });
+        if (removed[0] == null) {
+            return null;
+        }
+        String lang = langCodes.get(removed[0].langId);
+        fire(uuid, lang, null);
+        return lang;
+    }
+
+    private void leave(int langId, UUID uuid) {
+        members.get(langId).remove(uuid);
+        counts.get(langId).decrementAndGet();
+    }
+
+    /**
+     * Looks a player up by name, case-insensitively.
+     */
+    public UUID getUUIDByName(String name) {
+        return names.get(name.toLowerCase());
+    }
+
+    /**
+     * Players using a language, as a live read-only view.
+     */
+    public Set<UUID> members(String lang) {
+        Integer id = langIds.get(lang);
+        return id == null ? Collections.emptySet() : Collections.unmodifiableSet(members.get(id));
+    }
+
+    /**
+     * Number of players using a language.
+     */
+    public int count(String lang) {
+        Integer id = langIds.get(lang);
+        return id == null ? 0 : counts.get(id).get();
+    }
+
+    /**
+     * lang -> number of players, for languages with at least one player.
+     */
+    public Map<String, Integer> counts() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int id = 0; id < langCodes.size(); id++) {
+            int count = counts.get(id).get();
+            if (count > 0) {
+                result.put(langCodes.get(id), count);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Languages with at least one player.
+     */
+    public List<String> languages() {
+        return new ArrayList<>(counts().keySet());
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fire(UUID uuid, String previous, String lang) {
+        for (ChangeListener listener : listeners) {
+            listener.onLanguageChange(uuid, previous, lang);
+        }
+    }
+}
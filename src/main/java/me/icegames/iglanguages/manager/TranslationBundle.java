@@ -0,0 +1,235 @@
+package me.icegames.iglanguages.manager;
+
+import me.icegames.iglanguages.translation.ArgFormat;
+import me.icegames.iglanguages.translation.Template;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compiled cache of every language file, written next to the config so the next
+ * start can skip YAML parsing and colorizing for files that haven't changed.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int version, str signature, int payloadLength, long payloadCrc
+ * payload:
+ *   int keyCount, str key...                      (interned keys shared by all files)
+ *   int fileCount, per file:
+ *     str lang, str path, long sourceCrc, int entryCount,
+ *     per entry: int keyIndex, str raw, str colorized (length -1 = same as raw)
+ * </pre>
+ * Strings are stored as an int byte length followed by UTF-8 bytes. The bundle is
+ * read into a heap buffer in one call rather than memory-mapped: a mapping stays open
+ * until it is garbage collected, and on Windows it would keep {@link #write} from
+ * replacing the file. A file is only restored from it when the CRC32 of its current
+ * contents matches the one recorded when it was compiled.
+ * <p>
+ * The bundle saves YAML parsing and colorizing, which are most of the load time, but
+ * not template compilation: templates hold locale-bound formatters and nested choice
+ * templates, so storing them would tie the format to the template internals. Restored
+ * entries are compiled again, which is a single linear scan per translation.
+ */
+final class TranslationBundle {
+
+    private static final int MAGIC = 0x49474C42; // "IGLB"
+    private static final int VERSION = 1;
+
+    /**
+     * One language file as stored in the bundle.
+     */
+    private static final class Entry {
+        final long checksum;
+        final String[] keys;
+        final String[] raw;
+        final String[] colorized;
+
+        Entry(long checksum, String[] keys, String[] raw, String[] colorized) {
+            this.checksum = checksum;
+            this.keys = keys;
+            this.raw = raw;
+            this.colorized = colorized;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    private TranslationBundle(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Rebuilds a parsed file from the bundle, or returns null if it isn't bundled or its contents changed.
+     *
+     * @param path     Path of the file relative to {@code langs/}, with '/' separators.
+     * @param checksum CRC32 of the file's current contents.
+     */
+    public TranslationLoader.ParsedFile restore(TranslationLoader.LangFile source, String path, long checksum) {
+        Entry entry = entries.get(path);
+        if (entry == null || entry.checksum != checksum) {
+            return null;
+        }
+        Map<String, String> raw = new LinkedHashMap<>(entry.keys.length * 4 / 3 + 1);
+        Map<String, Template> compiled = new HashMap<>(entry.keys.length * 4 / 3 + 1);
+        Locale locale = ArgFormat.localeOf(source.lang);
+        for (int i = 0; i < entry.keys.length; i++) {
+            raw.put(entry.keys[i], entry.raw[i]);
+            compiled.put(entry.keys[i], Template.compile(entry.colorized[i], locale));
+        }
+        return new TranslationLoader.ParsedFile(source, raw, compiled, checksum);
+    }
+
+    /**
+     * Reads a bundle, returning null if it is missing, corrupt, or was written with a different signature.
+     */
+    public static TranslationBundle read(File file, String signature) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !signature.equals(readString(buffer))) {
+                return null;
+            }
+            int payloadLength = buffer.getInt();
+            long payloadCrc = buffer.getLong();
+            if (payloadLength < 0 || payloadLength != buffer.remaining()) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != payloadCrc) {
+                return null;
+            }
+
+            String[] keys = new String[buffer.getInt()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = readString(buffer);
+            }
+            int fileCount = buffer.getInt();
+            Map<String, Entry> entries = new HashMap<>(fileCount * 4 / 3 + 1);
+            for (int f = 0; f < fileCount; f++) {
+                readString(buffer); // lang, implied by the path
+                String path = readString(buffer);
+                long checksum = buffer.getLong();
+                int count = buffer.getInt();
+                String[] fileKeys = new String[count];
+                String[] raw = new String[count];
+                String[] colorized = new String[count];
+                for (int i = 0; i < count; i++) {
+                    fileKeys[i] = keys[buffer.getInt()];
+                    raw[i] = readString(buffer);
+                    String value = readString(buffer);
+                    colorized[i] = value == null ? raw[i] : value;
+                }
+                entries.put(path, new Entry(checksum, fileKeys, raw, colorized));
+            }
+            return new TranslationBundle(entries);
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a bundle of the given files, replacing the previous one atomically where the file system allows it.
+     *
+     * @param paths Path of each file relative to {@code langs/}, in the same order as {@code files}.
+     */
+    public static void write(File file, String signature, List<TranslationLoader.ParsedFile> files,
+                             List<String> paths) throws IOException {
+        Map<String, Integer> keyIds = new LinkedHashMap<>();
+        for (TranslationLoader.ParsedFile parsed : files) {
+            for (String key : parsed.raw.keySet()) {
+                keyIds.putIfAbsent(key, keyIds.size());
+            }
+        }
+
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream payload = new DataOutputStream(payloadBytes);
+        payload.writeInt(keyIds.size());
+        for (String key : keyIds.keySet()) {
+            writeString(payload, key);
+        }
+        payload.writeInt(files.size());
+        for (int f = 0; f < files.size(); f++) {
+            TranslationLoader.ParsedFile parsed = files.get(f);
+            writeString(payload, parsed.source.lang);
+            writeString(payload, paths.get(f));
+            payload.writeLong(parsed.checksum);
+            payload.writeInt(parsed.raw.size());
+            for (Map.Entry<String, String> entry : parsed.raw.entrySet()) {
+                String colorized = parsed.compiled.get(entry.getKey()).getSource();
+                payload.writeInt(keyIds.get(entry.getKey()));
+                writeString(payload, entry.getValue());
+                writeString(payload, colorized.equals(entry.getValue()) ? null : colorized);
+            }
+        }
+        payload.flush();
+
+        byte[] body = payloadBytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp.toPath()))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, signature);
+            out.writeInt(body.length);
+            out.writeLong(crc.getValue());
+            out.write(body);
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * CRC32 of a file's contents, as recorded in the bundle.
+     */
+    public static long checksum(byte[] contents) {
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+        return crc.getValue();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,433 @@
+package me.icegames.iglanguages.manager;
+
+import me.icegames.iglanguages.IGLanguages;
+import me.icegames.iglanguages.translation.ArgFormat;
+import me.icegames.iglanguages.translation.Template;
+import me.icegames.iglanguages.translation.TranslationSnapshot;
+import me.icegames.iglanguages.util.LangEnum;
+import me.icegames.iglanguages.util.MessageUtil;
+import me.icegames.iglanguages.util.MiniMessageWrapper;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Discovers, parses and compiles the language files under {@code langs/}.
+ * <p>
+ * Discovery and per-file parsing are fanned out over a bounded fork-join pool;
+ * the results are merged into a new {@link TranslationSnapshot}, which the
+ * caller publishes. Nothing here touches live plugin state. Files that haven't
+ * changed since the last load are restored from the compiled
+ * {@link TranslationBundle} instead of being parsed again.
+ */
+public class TranslationLoader {
+
+    private final IGLanguages plugin;
+    private final File langsFolder;
+    private final File bundleFile;
+
+    /**
+     * A language file found during discovery.
+     */
+    public static final class LangFile {
+        public final String lang;
+        public final File root;
+        public final File file;
+
+        LangFile(String lang, File root, File file) {
+            this.lang = lang;
+            this.root = root;
+            this.file = file;
+        }
+    }
+
+    /**
+     * The flattened and compiled contents of one language file.
+     */
+    public static final class ParsedFile {
+        public final LangFile source;
+        public final Map<String, String> raw;
+        public final Map<String, Template> compiled;
+        // CRC32 of the file contents this was parsed from
+        public final long checksum;
+
+        ParsedFile(LangFile source, Map<String, String> raw, Map<String, Template> compiled, long checksum) {
+            this.source = source;
+            this.raw = raw;
+            this.compiled = compiled;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * A built snapshot together with the per-file results it was merged from,
+     * so single files can later be re-parsed without touching the others.
+     */
+    public static final class Result {
+        public final TranslationSnapshot snapshot;
+        public final List<String> langs;
+        public final List<ParsedFile> files;
+
+        Result(TranslationSnapshot snapshot, List<String> langs, List<ParsedFile> files) {
+            this.snapshot = snapshot;
+            this.langs = Collections.unmodifiableList(langs);
+            this.files = Collections.unmodifiableList(files);
+        }
+
+        /**
+         * An empty result, used before the first load.
+         */
+        public static Result empty() {
+            return new Result(TranslationSnapshot.empty(), new ArrayList<>(), new ArrayList<>());
+        }
+    }
+
+    public TranslationLoader(IGLanguages plugin) {
+        this.plugin = plugin;
+        this.langsFolder = new File(plugin.getDataFolder(), "langs");
+        this.bundleFile = new File(plugin.getDataFolder(), "translations.bundle");
+    }
+
+    public File getLangsFolder() {
+        return langsFolder;
+    }
+
+    /**
+     * Loads every language file and builds a new snapshot. Blocks until done.
+     *
+     * @param generation  Generation number of the snapshot to build.
+     * @param defaultLang Language merged into every table as fallback.
+     */
+    public Result load(int generation, String defaultLang) {
+        if (!langsFolder.exists())
+            langsFolder.mkdirs();
+
+        List<File> validDirs = langDirs(true);
+
+        // Files whose contents still match the compiled bundle skip YAML parsing and colorizing
+        TranslationBundle bundle = isBundleEnabled() ? TranslationBundle.read(bundleFile, bundleSignature()) : null;
+        AtomicInteger reparsed = new AtomicInteger();
+        ForkJoinPool pool = createPool();
+        try {
+            List<ParsedFile> parsed = pool.submit(() -> validDirs.parallelStream()
+                    .flatMap(dir -> discover(dir).stream())
+                    .collect(Collectors.toList())
+                    .parallelStream()
+                    .map(langFile -> {
+                        byte[] contents = read(langFile.file);
+                        long checksum = TranslationBundle.checksum(contents);
+                        ParsedFile restored = bundle == null ? null
+                                : bundle.restore(langFile, relativePath(langFile.file), checksum);
+                        if (restored != null) {
+                            return restored;
+                        }
+                        reparsed.incrementAndGet();
+                        return parse(langFile, contents, checksum);
+                    })
+                    .collect(Collectors.toList())).get();
+            List<String> langs = langCodes(validDirs);
+            plugin.LogDebug("Restored " + (parsed.size() - reparsed.get()) + " of " + parsed.size()
+                    + " language files from the compiled bundle.");
+            if (isBundleEnabled() && (reparsed.get() > 0 || bundle == null || bundle.size() != parsed.size())) {
+                writeBundle(parsed);
+            }
+            return merge(generation, langs, parsed, defaultLang);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading languages", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load languages", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * The language folders below {@code langs/} whose name is a valid language code.
+     *
+     * @param warn Whether to log the folders that are skipped.
+     */
+    private List<File> langDirs(boolean warn) {
+        File[] langDirs = langsFolder.listFiles(File::isDirectory);
+        List<File> validDirs = new ArrayList<>();
+        if (langDirs == null) {
+            return validDirs;
+        }
+        for (File langDir : langDirs) {
+            if (!LangEnum.isValidCode(langDir.getName().toLowerCase())) {
+                if (warn) {
+                    plugin.getLogger().warning("Invalid language folder: " + langDir.getName());
+                    plugin.getLogger().warning("Please use a valid language code as the folder name. Codes avaliable: "
+                            + LangEnum.getAllCodes());
+                }
+                continue;
+            }
+            validDirs.add(langDir);
+        }
+        return validDirs;
+    }
+
+    private static List<String> langCodes(List<File> langDirs) {
+        List<String> langs = new ArrayList<>(langDirs.size());
+        for (File langDir : langDirs) {
+            langs.add(langDir.getName().toLowerCase());
+        }
+        return langs;
+    }
+
+    private ForkJoinPool createPool() {
+        int threads = plugin.getConfig().getInt("performance.loaderThreads", 0);
+        if (threads <= 0) {
+            threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ClassLoader classLoader = getClass().getClassLoader();
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("IGLanguages-Loader-" + counter.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Lists every .yml file below a language folder, in a stable order.
+     */
+    public List<LangFile> discover(File langDir) {
+        String lang = langDir.getName().toLowerCase();
+        List<LangFile> files = new ArrayList<>();
+        collectFiles(lang, langDir, langDir, files);
+        return files;
+    }
+
+    private void collectFiles(String lang, File rootDir, File currentDir, List<LangFile> out) {
+        File[] files = currentDir.listFiles();
+        if (files == null)
+            return;
+
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collectFiles(lang, rootDir, file, out);
+            } else if (file.getName().endsWith(".yml")) {
+                out.add(new LangFile(lang, rootDir, file));
+            }
+        }
+    }
+
+    /**
+     * Parses, flattens, colorizes and compiles a single language file.
+     */
+    public ParsedFile parse(LangFile langFile) {
+        byte[] contents = read(langFile.file);
+        return parse(langFile, contents, TranslationBundle.checksum(contents));
+    }
+
+    private ParsedFile parse(LangFile langFile, byte[] contents, long checksum) {
+        Map<String, String> raw = new LinkedHashMap<>();
+        String prefix = getFilePrefix(langFile.root, langFile.file);
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(new String(contents, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException e) {
+            plugin.getLogger().severe("Cannot load " + langFile.file + ": " + e.getMessage());
+        }
+        String fullPrefix = prefix.isEmpty() ? "" : prefix + "_";
+        flattenSectionUnderscore(config, fullPrefix, raw);
+
+        // Compile every translation once so lookups never colorize or parse at request time
+        Map<String, Template> compiled = new HashMap<>(raw.size() * 4 / 3 + 1);
+        Locale locale = ArgFormat.localeOf(langFile.lang);
+        for (Map.Entry<String, String> entry : raw.entrySet()) {
+            compiled.put(entry.getKey(), Template.compile(MessageUtil.colorize(entry.getValue()), locale));
+        }
+        return new ParsedFile(langFile, raw, compiled, checksum);
+    }
+
+    private byte[] read(File file) {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            plugin.getLogger().severe("Cannot read " + file + ": " + e.getMessage());
+            return new byte[0];
+        }
+    }
+
+    private boolean isBundleEnabled() {
+        return plugin.getConfig().getBoolean("performance.bundleCache", true);
+    }
+
+    /**
+     * Everything the colorized text in the bundle depends on besides the files themselves:
+     * the plugin version, the server version and the colorizer's capabilities on this server.
+     * A bundle written under a different signature is ignored.
+     */
+    private String bundleSignature() {
+        return plugin.getDescription().getVersion() + ";server=" + Bukkit.getBukkitVersion()
+                + ";codes=" + MessageUtil.getColorCodes() + ";minimessage=" + MiniMessageWrapper.isAvailable();
+    }
+
+    private void writeBundle(List<ParsedFile> files) {
+        List<String> paths = new ArrayList<>(files.size());
+        for (ParsedFile file : files) {
+            paths.add(relativePath(file.source.file));
+        }
+        try {
+            TranslationBundle.write(bundleFile, bundleSignature(), files, paths);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write the compiled translation bundle: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Path of a file relative to {@code langs/}, with '/' separators.
+     */
+    private String relativePath(File file) {
+        String path = file.getAbsolutePath().substring(langsFolder.getAbsolutePath().length() + 1);
+        return path.replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Re-parses only the given files and merges them with the unchanged results of {@code current}.
+     * Files that no longer exist are dropped; new files in a valid language folder are added. The
+     * languages are re-read from {@code langs/}, so the result matches what {@link #load} would build.
+     */
+    public Result update(Result current, Collection<File> changed, int generation, String defaultLang) {
+        List<ParsedFile> files = new ArrayList<>(current.files);
+        for (File file : changed) {
+            LangFile langFile = toLangFile(file);
+            if (langFile == null) {
+                continue;
+            }
+            int index = indexOf(files, file);
+            if (!file.isFile()) {
+                if (index != -1) {
+                    files.remove(index);
+                }
+                continue;
+            }
+            ParsedFile parsed = parse(langFile);
+            if (index != -1) {
+                files.set(index, parsed);
+            } else {
+                files.add(parsed);
+            }
+        }
+        // Languages and file order as a full load would find them, so an emptied or removed folder is dropped
+        List<File> langDirs = langDirs(false);
+        List<String> langs = langCodes(langDirs);
+        files = inDiscoveryOrder(files, langDirs);
+        if (isBundleEnabled()) {
+            writeBundle(files);
+        }
+        return merge(generation, langs, files, defaultLang);
+    }
+
+    /**
+     * Orders parsed files the way {@link #load} finds them, so duplicate keys resolve
+     * the same way after an incremental update as after a full load. Files outside
+     * {@code langDirs} are dropped.
+     */
+    private List<ParsedFile> inDiscoveryOrder(List<ParsedFile> files, List<File> langDirs) {
+        Map<File, ParsedFile> byFile = new HashMap<>(files.size() * 4 / 3 + 1);
+        for (ParsedFile file : files) {
+            byFile.put(file.source.file, file);
+        }
+        List<ParsedFile> ordered = new ArrayList<>(files.size());
+        for (File langDir : langDirs) {
+            for (LangFile langFile : discover(langDir)) {
+                ParsedFile parsed = byFile.get(langFile.file);
+                if (parsed != null) {
+                    ordered.add(parsed);
+                }
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Maps a file below {@code langs/<lang>/} to its language, or null if it isn't a language file.
+     */
+    private LangFile toLangFile(File file) {
+        if (!file.getName().endsWith(".yml")) {
+            return null;
+        }
+        File root = file.getParentFile();
+        while (root != null && !langsFolder.equals(root.getParentFile())) {
+            root = root.getParentFile();
+        }
+        if (root == null) {
+            return null;
+        }
+        String lang = root.getName().toLowerCase();
+        return LangEnum.isValidCode(lang) ? new LangFile(lang, root, file) : null;
+    }
+
+    private static int indexOf(List<ParsedFile> files, File file) {
+        for (int i = 0; i < files.size(); i++) {
+            if (files.get(i).source.file.equals(file)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Merges parsed files into a snapshot. Later files win on duplicate keys.
+     */
+    public Result merge(int generation, List<String> langs, List<ParsedFile> files, String defaultLang) {
+        Map<String, Map<String, String>> raw = new HashMap<>();
+        Map<String, Map<String, Template>> compiled = new HashMap<>();
+        for (String lang : langs) {
+            raw.put(lang, new HashMap<>());
+            compiled.put(lang, new HashMap<>());
+        }
+        for (ParsedFile file : files) {
+            raw.computeIfAbsent(file.source.lang, l -> new HashMap<>()).putAll(file.raw);
+            compiled.computeIfAbsent(file.source.lang, l -> new HashMap<>()).putAll(file.compiled);
+        }
+        return new Result(TranslationSnapshot.build(generation, raw, compiled, defaultLang), langs, files);
+    }
+
+    private String getFilePrefix(File rootDir, File file) {
+        String relativePath = file.getAbsolutePath().substring(rootDir.getAbsolutePath().length() + 1);
+        if (relativePath.endsWith(".yml")) {
+            relativePath = relativePath.substring(0, relativePath.length() - 4);
+        }
+
+        if (!relativePath.contains(File.separator)) {
+            return "";
+        }
+
+        return relativePath.replace(File.separatorChar, '.');
+    }
+
+    private void flattenSectionUnderscore(ConfigurationSection section, String prefix, Map<String, String> map) {
+        if (section == null)
+            return;
+        for (String key : section.getKeys(false)) {
+            Object value = section.get(key);
+            if (value instanceof ConfigurationSection) {
+                flattenSectionUnderscore((ConfigurationSection) value, prefix + key + "_", map);
+            } else if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                String joined = String.join("\n", list.stream().map(Object::toString).toArray(String[]::new));
+                map.put((prefix + key).toLowerCase(), joined);
+            } else if (value != null) {
+                map.put((prefix + key).toLowerCase(), value.toString());
+            }
+        }
+    }
+}
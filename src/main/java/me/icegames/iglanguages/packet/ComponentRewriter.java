@@ -0,0 +1,188 @@
+package me.icegames.iglanguages.packet;
+
+/**
+ * Replaces %lang_key% placeholders inside chat component JSON in a single pass.
+ * <p>
+ * The rewriter jumps from placeholder to placeholder instead of parsing the whole
+ * document: '%' is only valid inside JSON strings, so the string around each match
+ * is found by looking back for its opening quote. Only the values of {@code text},
+ * {@code translate} and hover {@code contents} keys are rewritten, plus bare strings,
+ * which are components too (the root, and elements of {@code extra} and {@code with}
+ * arrays). Keys and
+ * every other value are left alone, and a placeholder can never match across two
+ * strings. Untouched spans are copied in bulk, and the input instance is returned
+ * when nothing was replaced.
+ */
+final class ComponentRewriter {
+
+    private static final String PREFIX = "%lang_";
+
+    /**
+     * Supplies the replacement of a placeholder.
+     */
+    @FunctionalInterface
+    interface Translator {
+        /**
+         * @param key The text between "%lang_" and the closing '%'.
+         * @return The replacement, or null to keep the placeholder.
+         */
+        String translate(String key);
+    }
+
+    private ComponentRewriter() {
+    }
+
+    /**
+     * Rewrites the component strings of {@code json}. Replacements must already be escaped for JSON.
+     *
+     * @return The rewritten JSON, or {@code json} itself if nothing changed.
+     */
+    static String rewriteJson(String json, Translator translator) {
+        StringBuilder out = null;
+        int copied = 0;
+        int from = json.indexOf(PREFIX);
+        while (from != -1) {
+            int quote = previousQuote(json, from);
+            int end = quote == -1 ? -1 : stringEnd(json, quote + 1);
+            if (end == -1) {
+                break; // malformed, keep the rest as-is
+            }
+            if (isComponentText(json, quote, end)) {
+                out = replace(json, quote + 1, end, from, translator, out, copied);
+                if (out != null) {
+                    copied = end;
+                }
+            }
+            from = json.indexOf(PREFIX, end + 1);
+        }
+        if (out == null) {
+            return json;
+        }
+        return out.append(json, copied, json.length()).toString();
+    }
+
+    /**
+     * Rewrites plain text, such as an item name or a scoreboard entry.
+     *
+     * @return The rewritten text, or {@code text} itself if nothing changed.
+     */
+    static String rewriteText(String text, Translator translator) {
+        int from = text.indexOf(PREFIX);
+        if (from == -1) {
+            return text;
+        }
+        StringBuilder out = replace(text, 0, text.length(), from, translator, null, 0);
+        return out == null ? text : out.toString();
+    }
+
+    /**
+     * Replaces the placeholders in {@code source[start, end)}, the first of which starts at {@code from}.
+     * Everything before {@code end} is copied to the builder, which is created on the first replacement.
+     *
+     * @param copied Index up to which {@code source} was already copied to {@code out}.
+     * @return The builder, or null if it didn't exist and nothing was replaced.
+     */
+    private static StringBuilder replace(String source, int start, int end, int from, Translator translator,
+                                         StringBuilder out, int copied) {
+        boolean replaced = false;
+        int last = start;
+        while (from != -1 && from < end) {
+            int close = source.indexOf('%', from + PREFIX.length());
+            if (close == -1 || close >= end) {
+                break;
+            }
+            if (close == from + PREFIX.length()) {
+                from = source.indexOf(PREFIX, close);
+                continue;
+            }
+            String replacement = translator.translate(source.substring(from + PREFIX.length(), close));
+            if (replacement != null) {
+                if (out == null) {
+                    out = new StringBuilder(source.length() + replacement.length() + 16);
+                }
+                if (!replaced) {
+                    out.append(source, copied, start);
+                    replaced = true;
+                }
+                out.append(source, last, from).append(replacement);
+                last = close + 1;
+            }
+            from = source.indexOf(PREFIX, close + 1);
+        }
+        if (replaced) {
+            out.append(source, last, end);
+        } else if (out != null) {
+            out.append(source, copied, end);
+        }
+        return out;
+    }
+
+    /**
+     * True if the string between the quotes at {@code quote} and {@code end} is component text:
+     * the value of a "text" or "translate" key, a show_text hover's "contents", an array element or the root.
+     */
+    private static boolean isComponentText(String json, int quote, int end) {
+        int next = end + 1;
+        while (next < json.length() && json.charAt(next) <= ' ') {
+            next++;
+        }
+        if (next < json.length() && json.charAt(next) == ':') {
+            return false; // a key
+        }
+        int colon = previousToken(json, quote);
+        if (colon == -1 || json.charAt(colon) != ':') {
+            return true;
+        }
+        int keyEnd = previousToken(json, colon);
+        int keyStart = keyEnd == -1 ? -1 : previousQuote(json, keyEnd);
+        if (keyStart == -1) {
+            return false;
+        }
+        int keyLength = keyEnd - keyStart - 1;
+        return (keyLength == 4 && json.startsWith("text", keyStart + 1))
+                || (keyLength == 9 && json.startsWith("translate", keyStart + 1))
+                || (keyLength == 8 && json.startsWith("contents", keyStart + 1));
+    }
+
+    /**
+     * Returns the index of the last character before {@code index} that isn't whitespace, or -1.
+     */
+    private static int previousToken(String json, int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            if (json.charAt(i) > ' ') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last unescaped quote before {@code index}, or -1.
+     */
+    private static int previousQuote(String json, int index) {
+        int quote = json.lastIndexOf('"', index - 1);
+        while (quote != -1 && isEscaped(json, quote)) {
+            quote = json.lastIndexOf('"', quote - 1);
+        }
+        return quote;
+    }
+
+    private static boolean isEscaped(String json, int index) {
+        int backslashes = 0;
+        while (index - backslashes - 1 >= 0 && json.charAt(index - backslashes - 1) == '\\') {
+            backslashes++;
+        }
+        return (backslashes & 1) == 1;
+    }
+
+    /**
+     * Returns the index of the quote closing the JSON string whose content starts at {@code from}, or -1.
+     */
+    private static int stringEnd(String json, int from) {
+        int quote = json.indexOf('"', from);
+        while (quote != -1 && isEscaped(json, quote)) {
+            quote = json.indexOf('"', quote + 1);
+        }
+        return quote;
+    }
+}
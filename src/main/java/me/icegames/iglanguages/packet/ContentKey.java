@@ -0,0 +1,70 @@
+package me.icegames.iglanguages.packet;
+
+/**
+ * Cache key for processed packet text: a language ID plus a 128-bit fingerprint of the content.
+ * <p>
+ * The key is a fixed 40 bytes however large the packet is, and building it hashes the
+ * content in place instead of concatenating it with the language. The fingerprint
+ * combines two independent 64-bit hashes (FNV-1a and a multiply-rotate hash), each
+ * finished with a 64-bit avalanche mix, so accidental collisions are negligible;
+ * {@code protocollib.verifyOnHit} can still compare the content on every hit.
+ */
+final class ContentKey {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+    private final int langId;
+    private final boolean json;
+    private final long high;
+    private final long low;
+
+    private ContentKey(int langId, boolean json, long high, long low) {
+        this.langId = langId;
+        this.json = json;
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * @param json Whether the content is chat component JSON rather than plain text.
+     */
+    static ContentKey of(int langId, boolean json, String content) {
+        long h1 = FNV_OFFSET;
+        long h2 = GOLDEN;
+        int length = content.length();
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            h1 = (h1 ^ c) * FNV_PRIME;
+            h2 = Long.rotateLeft(h2 + c * GOLDEN, 31) * 0xc2b2ae3d27d4eb4fL;
+        }
+        return new ContentKey(langId, json, mix(h1 ^ length), mix(h2 + length));
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3.
+     */
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContentKey)) {
+            return false;
+        }
+        ContentKey other = (ContentKey) o;
+        return low == other.low && high == other.high && langId == other.langId && json == other.json;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) low ^ langId * 31;
+    }
+}
@@ -0,0 +1,163 @@
+package me.icegames.iglanguages.packet;
+
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cheap check for %lang_ placeholders in a chat component, run before its JSON is built.
+ * <p>
+ * Serializing a component to JSON just to look for the marker is the main cost of
+ * packets that carry none, which is most of them. Server components have a method
+ * that turns them into a string, but its name differs between versions, and the
+ * one that only flattens the visible text ({@code getString()} on modern servers)
+ * leaves out hover text, which the JSON rewriter does replace. The method is found
+ * once at startup by probing components whose content is known: it only qualifies
+ * if it returns the marker nested in a child, in a translation key and argument,
+ * and in the hover text of the root and of a child, so it can't miss a placeholder
+ * the rewriter would replace. That usually rules out {@code getString()} and leaves
+ * {@code toString()}, which dumps the whole tree with its styles and is still much
+ * cheaper than the JSON serializer. When no method passes, or a call fails, the
+ * filter lets the component through and the JSON is checked as before.
+ */
+final class MarkerPrefilter {
+
+    private static final String MARKER = "%lang_";
+    private static final String PROBE = "%lang_probe%";
+
+    private final Method dump;
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    private MarkerPrefilter(Method dump) {
+        this.dump = dump;
+    }
+
+    /**
+     * A filter that lets every component through.
+     */
+    static MarkerPrefilter disabled() {
+        return new MarkerPrefilter(null);
+    }
+
+    /**
+     * Looks for a method of this server's components that exposes every string the rewriter may replace.
+     *
+     * @return The filter; {@link #isActive()} tells whether a method was found.
+     */
+    static MarkerPrefilter probe() {
+        try {
+            String hover = "\"hoverEvent\":{\"action\":\"show_text\",\"value\":{\"text\":\"" + PROBE + "\"}}";
+            Object[] marked = {
+                    handle("{\"text\":\"a\",\"extra\":[{\"text\":\"" + PROBE + "\"}]}"),
+                    handle("{\"translate\":\"" + PROBE + "\"}"),
+                    handle("{\"translate\":\"a %s\",\"with\":[{\"text\":\"" + PROBE + "\"}]}"),
+                    handle("{\"text\":\"a\"," + hover + "}"),
+                    handle("{\"text\":\"a\",\"extra\":[{\"text\":\"b\"," + hover + "}]}")
+            };
+            Object plain = handle("{\"text\":\"a\"}");
+            Class<?> type = marked[0].getClass();
+            Method toString = null;
+            for (Method method : type.getMethods()) {
+                if (method.getParameterCount() != 0 || method.getReturnType() != String.class
+                        || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                Method shared = interfaceMethod(type, method.getName());
+                if (shared == null || !passes(shared, marked, plain)) {
+                    continue;
+                }
+                if (!method.getName().equals("toString")) {
+                    return new MarkerPrefilter(shared);
+                }
+                toString = shared;
+            }
+            return new MarkerPrefilter(toString);
+        } catch (Exception | LinkageError e) {
+            return disabled();
+        }
+    }
+
+    private static Object handle(String json) {
+        return WrappedChatComponent.fromJson(json).getHandle();
+    }
+
+    /**
+     * The same method declared by an interface of {@code type}, so it can be called on every component class.
+     */
+    private static Method interfaceMethod(Class<?> type, String name) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                try {
+                    return i.getMethod(name);
+                } catch (NoSuchMethodException ignored) {
+                    // try the next interface
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * True if {@code method} returns the probe marker for every {@code marked} component and no marker for {@code plain}.
+     */
+    private static boolean passes(Method method, Object[] marked, Object plain) {
+        try {
+            for (Object component : marked) {
+                if (!method.getDeclaringClass().isInstance(component)) {
+                    return false;
+                }
+                String text = (String) method.invoke(component);
+                if (text == null || !text.contains(PROBE)) {
+                    return false;
+                }
+            }
+            String plainText = (String) method.invoke(plain);
+            return plainText != null && !plainText.contains(MARKER);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    boolean isActive() {
+        return dump != null;
+    }
+
+    /**
+     * Name of the method in use, for logging.
+     */
+    String describe() {
+        return dump == null ? "none" : dump.getDeclaringClass().getSimpleName() + "." + dump.getName() + "()";
+    }
+
+    /**
+     * False only if the component certainly contains no %lang_ placeholder.
+     */
+    boolean mayContainMarker(WrappedChatComponent component) {
+        if (dump == null) {
+            return true;
+        }
+        checked.increment();
+        try {
+            String text = (String) dump.invoke(component.getHandle());
+            if (text != null && !text.contains(MARKER)) {
+                return false;
+            }
+        } catch (Exception e) {
+            fallbacks.increment();
+        }
+        passed.increment();
+        return true;
+    }
+
+    /**
+     * Counters since startup: {checked, passed, fallbacks}. Passed components had their JSON
+     * built; fallbacks are the passed ones whose text couldn't be read.
+     */
+    long[] getStats() {
+        return new long[]{checked.sum(), passed.sum(), fallbacks.sum()};
+    }
+}
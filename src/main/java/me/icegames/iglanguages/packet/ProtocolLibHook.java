@@ -11,60 +11,263 @@ import com.comphenix.protocol.events.PacketEvent;
 import com.comphenix.protocol.wrappers.WrappedChatComponent;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.google.gson.Gson;
 import me.icegames.iglanguages.IGLanguages;
 import me.icegames.iglanguages.manager.LangManager;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 public class ProtocolLibHook {
 
     private final IGLanguages plugin;
     private final LangManager langManager;
     private final ProtocolManager protocolManager;
-    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%lang_([^%]+)%");
-    private static final Gson GSON = new Gson();
-    private final Cache<String, String> processedCache;
+    // Processed text stamped with the snapshot generation it was produced from; entries from
+    // older snapshots are processed again when next used instead of being dropped on reload.
+    // Keyed by language ID and content fingerprint, bounded by the bytes of text it holds.
+    private final Cache<ContentKey, Processed> processedCache;
+    private final boolean verifyOnHit;
+    // Translated items shared by every player with the same language, stamped like processedCache
+    private final Cache<ItemKey, TranslatedItem> itemCache;
+    private final Map<PacketType, PacketStats> packetStats = new ConcurrentHashMap<>();
+    // Skips building the JSON of components without %lang_
+    private final MarkerPrefilter prefilter;
+    private final List<ListenerFamily> families;
+    // Adaptive mode: types without a marker for idleNanos only check one packet in sampleRate
+    private volatile boolean adaptive;
+    private volatile long idleNanos;
+    private volatile int sampleRate;
+
+    private static final class Processed {
+        final int generation;
+        // null when processing left the input unchanged
+        final String text;
+        // The processed input, kept only when hits are verified
+        final String source;
+
+        Processed(int generation, String text, String source) {
+            this.generation = generation;
+            this.text = text;
+            this.source = source;
+        }
+
+        int weight() {
+            // Two bytes per char plus the key, entry and object headers
+            return 96 + 2 * ((text == null ? 0 : text.length()) + (source == null ? 0 : source.length()));
+        }
+    }
+
+    /**
+     * An item with translatable text, identified by the language it is shown in and its
+     * contents: type, amount, durability and meta, compared with {@link ItemMeta#equals}.
+     * <p>
+     * Building the key is not free: {@code getItemMeta()} copies the meta, and its hashCode
+     * and (on a hit) equals walk the name, lore, enchantments and the rest of it. That
+     * only happens for slots whose name or lore contains a placeholder; it replaces
+     * rewriting every line and building a new meta, which costs several times more.
+     */
+    private static final class ItemKey {
+        final int langId;
+        final Material type;
+        final int amount;
+        final short durability;
+        // A copy from getItemMeta(), never modified
+        final ItemMeta meta;
+        final int hash;
+
+        @SuppressWarnings("deprecation")
+        ItemKey(int langId, ItemStack item, ItemMeta meta) {
+            this.langId = langId;
+            this.type = item.getType();
+            this.amount = item.getAmount();
+            this.durability = item.getDurability();
+            this.meta = meta;
+            int h = langId;
+            h = h * 31 + Objects.hashCode(type);
+            h = h * 31 + amount;
+            h = h * 31 + durability;
+            this.hash = h * 31 + meta.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ItemKey)) {
+                return false;
+            }
+            ItemKey other = (ItemKey) o;
+            return hash == other.hash && langId == other.langId && type == other.type && amount == other.amount
+                    && durability == other.durability && meta.equals(other.meta);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class TranslatedItem {
+        final int generation;
+        // Never modified or sent itself; setItemMeta() copies it into each packet's stack
+        final ItemMeta meta;
+
+        TranslatedItem(int generation, ItemMeta meta) {
+            this.generation = generation;
+            this.meta = meta;
+        }
+    }
+
+    /**
+     * Traffic and processed-cache counters of one packet type.
+     */
+    private static final class PacketStats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder stale = new LongAdder();
+        final LongAdder collisions = new LongAdder();
+        /** Packets that reached a listener. */
+        final LongAdder seen = new LongAdder();
+        /** Packets passed on unchecked while the type was dormant. */
+        final LongAdder skipped = new LongAdder();
+        final AtomicInteger sample = new AtomicInteger();
+        /** When a packet of this type last carried %lang_. */
+        volatile long lastMarked = System.nanoTime();
+
+        long[] toArray() {
+            return new long[]{hits.sum(), misses.sum(), stale.sum(), collisions.sum(), seen.sum(), skipped.sum()};
+        }
+    }
+
+    /**
+     * A group of packet types handled by one listener, switched on and off with
+     * {@code protocollib.packets.<configKey>}.
+     */
+    private static final class ListenerFamily {
+        final String name;
+        final String configKey;
+        final Supplier<PacketAdapter> factory;
+        // Registered listener, or null; only touched on the main thread
+        PacketAdapter adapter;
+
+        ListenerFamily(String name, String configKey, Supplier<PacketAdapter> factory) {
+            this.name = name;
+            this.configKey = configKey;
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Base of every listener: counts the packet and, in adaptive mode, lets dormant
+     * types through unchecked except for one sampled packet in {@code sampleRate}.
+     * A sampled packet that carries a marker wakes its type up again.
+     */
+    private abstract class TrackedAdapter extends PacketAdapter {
+
+        TrackedAdapter(PacketType... types) {
+            super(ProtocolLibHook.this.plugin, ListenerPriority.HIGHEST, types);
+        }
+
+        @Override
+        public final void onPacketSending(PacketEvent event) {
+            PacketStats stats = statsFor(event.getPacketType());
+            stats.seen.increment();
+            if (adaptive && System.nanoTime() - stats.lastMarked > idleNanos
+                    && (stats.sample.getAndIncrement() & Integer.MAX_VALUE) % sampleRate != 0) {
+                stats.skipped.increment();
+                return;
+            }
+            handle(event);
+        }
+
+        protected abstract void handle(PacketEvent event);
+    }
 
     public ProtocolLibHook(IGLanguages plugin) {
         this.plugin = plugin;
         this.langManager = plugin.getLangManager();
         this.protocolManager = ProtocolLibrary.getProtocolManager();
-        int cacheSize = plugin.getConfig().getInt("protocollib.cacheSize", 200);
+        this.verifyOnHit = plugin.getConfig().getBoolean("protocollib.verifyOnHit", false);
         this.processedCache = Caffeine.newBuilder()
-                .maximumSize(cacheSize)
+                .maximumWeight(plugin.getConfig().getLong("protocollib.cacheMaxBytes", 4_194_304))
+                .weigher((ContentKey key, Processed processed) -> processed.weight())
                 .expireAfterWrite(5, TimeUnit.MINUTES)
                 .build();
+        this.itemCache = Caffeine.newBuilder()
+                .maximumSize(plugin.getConfig().getInt("protocollib.itemCacheSize", 2000))
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .build();
+        if (plugin.getConfig().getBoolean("protocollib.prefilter", true)) {
+            this.prefilter = MarkerPrefilter.probe();
+            plugin.LogDebug("Packet prefilter: " + (prefilter.isActive()
+                    ? "using " + prefilter.describe() : "no usable component method found, checking JSON"));
+        } else {
+            this.prefilter = MarkerPrefilter.disabled();
+        }
+        this.families = Arrays.asList(
+                new ListenerFamily("Chat", "chat", this::chatListener),
+                new ListenerFamily("OpenWindow", "openWindow", this::openWindowListener),
+                new ListenerFamily("Items", "items", this::itemListener),
+                new ListenerFamily("Title (legacy)", "titles", this::legacyTitleListener),
+                new ListenerFamily("Title (modern)", "titles", this::modernTitleListener),
+                new ListenerFamily("BossBar", "bossBar", this::bossBarListener),
+                new ListenerFamily("TabList", "tabList", this::tabListListener),
+                new ListenerFamily("ScoreboardObjective", "scoreboardObjective", this::scoreboardObjectiveListener),
+                new ListenerFamily("ScoreboardScore", "scoreboardScore", this::scoreboardScoreListener),
+                new ListenerFamily("ScoreboardTeam", "scoreboardTeam", this::scoreboardTeamListener),
+                new ListenerFamily("DisguisedChat", "disguisedChat", this::disguisedChatListener),
+                new ListenerFamily("KickDisconnect", "kickDisconnect", this::kickDisconnectListener),
+                new ListenerFamily("ServerData", "serverData", this::serverDataListener));
     }
 
     public void register() {
-        registerSafely("Chat", this::registerChatListener);
-        registerSafely("OpenWindow", this::registerOpenWindowListener);
-        registerSafely("Items", this::registerItemListeners);
-        registerSafely("Title (legacy)", this::registerLegacyTitleListener);
-        registerSafely("Title (modern)", this::registerModernTitleListeners);
-        registerSafely("BossBar", this::registerBossBarListener);
-        registerSafely("TabList", this::registerTabListListener);
-        registerSafely("ScoreboardObjective", this::registerScoreboardObjectiveListener);
-        registerSafely("ScoreboardScore", this::registerScoreboardScoreListener);
-        registerSafely("ScoreboardTeam", this::registerScoreboardTeamListener);
-        registerSafely("DisguisedChat", this::registerDisguisedChatListener);
-        registerSafely("KickDisconnect", this::registerKickDisconnectListener);
-        registerSafely("ServerData", this::registerServerDataListener);
-    }
-
-    private void registerSafely(String name, Runnable registrar) {
-        try {
-            registrar.run();
-        } catch (Exception e) {
-            plugin.LogDebug("Could not register " + name + " packet listener: " + e.getMessage());
+        reload();
+    }
+
+    /**
+     * Applies the {@code protocollib.packets} and {@code protocollib.adaptive} settings of the
+     * current config: listeners of disabled families are removed, enabled ones registered, and
+     * every type gets a fresh adaptive window. Must be called on the main thread.
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfig();
+        this.idleNanos = TimeUnit.SECONDS.toNanos(Math.max(1, config.getLong("protocollib.adaptive.idleSeconds", 300)));
+        this.sampleRate = Math.max(1, config.getInt("protocollib.adaptive.sampleRate", 16));
+        this.adaptive = config.getBoolean("protocollib.adaptive.enabled", false);
+        long now = System.nanoTime();
+        for (PacketStats stats : packetStats.values()) {
+            stats.lastMarked = now;
+        }
+        for (ListenerFamily family : families) {
+            boolean enabled = config.getBoolean("protocollib.packets." + family.configKey, true);
+            if (enabled && family.adapter == null) {
+                try {
+                    PacketAdapter adapter = family.factory.get();
+                    protocolManager.addPacketListener(adapter);
+                    family.adapter = adapter;
+                } catch (Exception e) {
+                    plugin.LogDebug("Could not register " + family.name + " packet listener: " + e.getMessage());
+                }
+            } else if (!enabled && family.adapter != null) {
+                protocolManager.removePacketListener(family.adapter);
+                family.adapter = null;
+                plugin.LogDebug("Unregistered " + family.name + " packet listener");
+            }
         }
     }
 
@@ -72,14 +275,13 @@ public class ProtocolLibHook {
     // Listener registrations
     // ---------------------------------------------------------------
 
-    private void registerChatListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter chatListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.CHAT,
                 PacketType.Play.Server.SYSTEM_CHAT
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 PacketContainer packet = event.getPacket();
                 Player player = event.getPlayer();
@@ -91,102 +293,101 @@ public class ProtocolLibHook {
                 if (packet.getStrings().size() > 0) {
                     String json = packet.getStrings().read(0);
                     if (json != null && json.contains("%lang_")) {
-                        String processed = processJson(json, player);
-                        if (!json.equals(processed)) {
+                        String processed = processJson(json, player, packet.getType());
+                        if (processed != json) {
                             packet.getStrings().write(0, processed);
                         }
                     }
                 }
             }
-        });
+        };
     }
 
-    private void registerOpenWindowListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter openWindowListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.OPEN_WINDOW
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 processChatComponent(event.getPacket(), 0, event.getPlayer());
             }
-        });
+        };
     }
 
-    private void registerItemListeners() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter itemListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.SET_SLOT,
                 PacketType.Play.Server.WINDOW_ITEMS
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 PacketContainer packet = event.getPacket();
                 Player player = event.getPlayer();
 
                 if (packet.getType() == PacketType.Play.Server.SET_SLOT) {
                     ItemStack item = packet.getItemModifier().read(0);
-                    if (item != null && hasPlaceholders(item)) {
-                        packet.getItemModifier().write(0, translateItem(item, player));
+                    ItemStack translated = translateItem(item, playerLangId(player), packet.getType());
+                    if (translated != item) {
+                        packet.getItemModifier().write(0, translated);
                     }
                 } else {
                     List<ItemStack> items = packet.getItemListModifier().read(0);
-                    boolean changed = false;
-                    List<ItemStack> newItems = new ArrayList<>();
-                    for (ItemStack item : items) {
-                        if (item != null && hasPlaceholders(item)) {
-                            newItems.add(translateItem(item, player));
-                            changed = true;
-                        } else {
-                            newItems.add(item);
+                    int langId = playerLangId(player);
+                    // Copied on the first translated slot; windows without placeholders keep the original list
+                    List<ItemStack> newItems = null;
+                    for (int i = 0; i < items.size(); i++) {
+                        ItemStack item = items.get(i);
+                        ItemStack translated = translateItem(item, langId, packet.getType());
+                        if (translated != item) {
+                            if (newItems == null) {
+                                newItems = new ArrayList<>(items);
+                            }
+                            newItems.set(i, translated);
                         }
                     }
-                    if (changed) {
+                    if (newItems != null) {
                         packet.getItemListModifier().write(0, newItems);
                     }
                 }
             }
-        });
+        };
     }
 
-    private void registerLegacyTitleListener() {
-        // PacketType.Play.Server.TITLE was removed in 1.17+; registerSafely will catch the error
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter legacyTitleListener() {
+        // PacketType.Play.Server.TITLE was removed in 1.17+; enabling the family will catch the error
+        return new TrackedAdapter(
                 PacketType.Play.Server.TITLE
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 processChatComponent(event.getPacket(), 0, event.getPlayer());
             }
-        });
+        };
     }
 
-    private void registerModernTitleListeners() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter modernTitleListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.SET_TITLE_TEXT,
                 PacketType.Play.Server.SET_SUBTITLE_TEXT,
                 PacketType.Play.Server.SET_ACTION_BAR_TEXT
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 processChatComponent(event.getPacket(), 0, event.getPlayer());
             }
-        });
+        };
     }
 
-    private void registerBossBarListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter bossBarListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.BOSS
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 PacketContainer packet = event.getPacket();
                 Player player = event.getPlayer();
@@ -203,11 +404,11 @@ public class ProtocolLibHook {
                             boolean changed = false;
                             for (int j = 0; j < structure.getChatComponents().size(); j++) {
                                 WrappedChatComponent comp = structure.getChatComponents().read(j);
-                                if (comp != null) {
+                                if (comp != null && prefilter.mayContainMarker(comp)) {
                                     String json = comp.getJson();
                                     if (json != null && json.contains("%lang_")) {
-                                        String processed = processJson(json, player);
-                                        if (!json.equals(processed)) {
+                                        String processed = processJson(json, player, packet.getType());
+                                        if (processed != json) {
                                             comp.setJson(processed);
                                             structure.getChatComponents().write(j, comp);
                                             changed = true;
@@ -224,32 +425,30 @@ public class ProtocolLibHook {
                     ProtocolLibHook.this.plugin.LogDebug("BossBar structure processing failed: " + e.getMessage());
                 }
             }
-        });
+        };
     }
 
-    private void registerTabListListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter tabListListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.PLAYER_LIST_HEADER_FOOTER
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 PacketContainer packet = event.getPacket();
                 Player player = event.getPlayer();
                 processChatComponent(packet, 0, player);
                 processChatComponent(packet, 1, player);
             }
-        });
+        };
     }
 
-    private void registerScoreboardObjectiveListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter scoreboardObjectiveListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.SCOREBOARD_OBJECTIVE
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 PacketContainer packet = event.getPacket();
                 int mode = packet.getIntegers().read(0);
@@ -257,16 +456,15 @@ public class ProtocolLibHook {
                     processChatComponent(packet, 0, event.getPlayer());
                 }
             }
-        });
+        };
     }
 
-    private void registerScoreboardScoreListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter scoreboardScoreListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.SCOREBOARD_SCORE
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 PacketContainer packet = event.getPacket();
                 Player player = event.getPlayer();
@@ -274,8 +472,8 @@ public class ProtocolLibHook {
                 if (packet.getStrings().size() > 0) {
                     String scoreName = packet.getStrings().read(0);
                     if (scoreName != null && scoreName.contains("%lang_")) {
-                        String processed = processText(scoreName, player);
-                        if (!scoreName.equals(processed)) {
+                        String processed = processText(scoreName, playerLangId(player), packet.getType());
+                        if (processed != scoreName) {
                             packet.getStrings().write(0, processed);
                         }
                     }
@@ -283,16 +481,15 @@ public class ProtocolLibHook {
 
                 processChatComponent(packet, 0, player);
             }
-        });
+        };
     }
 
-    private void registerScoreboardTeamListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter scoreboardTeamListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.SCOREBOARD_TEAM
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 PacketContainer packet = event.getPacket();
                 int mode = packet.getIntegers().read(0);
@@ -301,54 +498,103 @@ public class ProtocolLibHook {
                     processChatComponent(packet, 2, event.getPlayer());
                 }
             }
-        });
+        };
     }
 
-    private void registerDisguisedChatListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter disguisedChatListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.DISGUISED_CHAT
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 processChatComponent(event.getPacket(), 0, event.getPlayer());
             }
-        });
+        };
     }
 
-    private void registerKickDisconnectListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter kickDisconnectListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.KICK_DISCONNECT
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 processChatComponent(event.getPacket(), 0, event.getPlayer());
             }
-        });
+        };
     }
 
-    private void registerServerDataListener() {
-        protocolManager.addPacketListener(new PacketAdapter(
-                plugin, ListenerPriority.HIGHEST,
+    private PacketAdapter serverDataListener() {
+        return new TrackedAdapter(
                 PacketType.Play.Server.SERVER_DATA
         ) {
             @Override
-            public void onPacketSending(PacketEvent event) {
+            protected void handle(PacketEvent event) {
                 if (event.getPlayer() == null) return;
                 processChatComponent(event.getPacket(), 0, event.getPlayer());
             }
-        });
+        };
     }
 
     public void unregister() {
         protocolManager.removePacketListeners(plugin);
+        for (ListenerFamily family : families) {
+            family.adapter = null;
+        }
     }
 
     public void clearCache() {
         processedCache.invalidateAll();
+        itemCache.invalidateAll();
+    }
+
+    /**
+     * Counters of the processed-text cache since startup, over all packet types: {hits, misses, stale}.
+     * Stale entries came from an older snapshot and were processed again on use.
+     */
+    public long[] getCacheStats() {
+        long[] total = new long[3];
+        for (PacketStats stats : packetStats.values()) {
+            total[0] += stats.hits.sum();
+            total[1] += stats.misses.sum();
+            total[2] += stats.stale.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Counters per packet type: name -> {hits, misses, stale, collisions, seen, skipped}.
+     * The first four count processed-cache lookups (item packets count lookups of translated items);
+     * collisions are hits whose content didn't match, only detected with {@code protocollib.verifyOnHit}.
+     * Seen counts packets that reached a listener, skipped those let through unchecked in adaptive mode.
+     */
+    public Map<String, long[]> getCacheStatsByType() {
+        Map<String, long[]> result = new TreeMap<>();
+        packetStats.forEach((type, stats) -> result.put(type.name(), stats.toArray()));
+        return result;
+    }
+
+    /**
+     * Counters of the %lang_ prefilter since startup: {checked, passed, fallbacks}. Only passed
+     * components were serialized to JSON. All zero when the prefilter is disabled or unsupported.
+     */
+    public long[] getPrefilterStats() {
+        return prefilter.getStats();
+    }
+
+    private PacketStats statsFor(PacketType type) {
+        PacketStats stats = packetStats.get(type);
+        return stats != null ? stats : packetStats.computeIfAbsent(type, t -> new PacketStats());
+    }
+
+    /**
+     * Stats of a type whose packet carries a %lang_ placeholder, keeping it awake in adaptive mode.
+     */
+    private PacketStats marked(PacketType type) {
+        PacketStats stats = statsFor(type);
+        stats.lastMarked = System.nanoTime();
+        return stats;
     }
 
     // ---------------------------------------------------------------
@@ -363,10 +609,11 @@ public class ProtocolLibHook {
         if (packet.getChatComponents().size() <= index) return false;
         WrappedChatComponent comp = packet.getChatComponents().read(index);
         if (comp == null) return false;
+        if (!prefilter.mayContainMarker(comp)) return true;
         String json = comp.getJson();
         if (json == null || !json.contains("%lang_")) return true;
-        String processed = processJson(json, player);
-        if (!json.equals(processed)) {
+        String processed = processJson(json, player, packet.getType());
+        if (processed != json) {
             comp.setJson(processed);
             packet.getChatComponents().write(index, comp);
         }
@@ -380,9 +627,7 @@ public class ProtocolLibHook {
         }
     }
 
-    private boolean hasPlaceholders(ItemStack item) {
-        if (!item.hasItemMeta()) return false;
-        ItemMeta meta = item.getItemMeta();
+    private static boolean hasPlaceholders(ItemMeta meta) {
         if (meta.hasDisplayName() && meta.getDisplayName().contains("%lang_")) return true;
         if (meta.hasLore()) {
             for (String line : meta.getLore()) {
@@ -392,84 +637,109 @@ public class ProtocolLibHook {
         return false;
     }
 
-    private ItemStack translateItem(ItemStack item, Player player) {
-        ItemStack clone = item.clone();
-        ItemMeta meta = clone.getItemMeta();
-        if (meta.hasDisplayName() && meta.getDisplayName().contains("%lang_")) {
-            meta.setDisplayName(processText(meta.getDisplayName(), player));
+    /**
+     * Returns a copy of the item with its name and lore translated, or {@code item} itself if it has
+     * no placeholders. The translated meta is shared by every player with the same language, but
+     * each call returns its own stack, since the server may hand it to the packet without copying.
+     */
+    private ItemStack translateItem(ItemStack item, int langId, PacketType type) {
+        if (item == null || !item.hasItemMeta()) return item;
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null || !hasPlaceholders(meta)) return item;
+
+        ItemKey key = new ItemKey(langId, item, meta);
+        int generation = langManager.getGeneration();
+        PacketStats stats = marked(type);
+        TranslatedItem cached = itemCache.getIfPresent(key);
+        if (cached != null && cached.generation == generation) {
+            stats.hits.increment();
+            return withMeta(item, cached.meta);
+        }
+        (cached == null ? stats.misses : stats.stale).increment();
+
+        String lang = langManager.getPlayerLangs().langCode(langId);
+        ItemMeta translatedMeta = meta.clone();
+        if (meta.hasDisplayName()) {
+            translatedMeta.setDisplayName(translateText(meta.getDisplayName(), lang));
         }
         if (meta.hasLore()) {
-            List<String> newLore = new ArrayList<>();
-            for (String line : meta.getLore()) {
-                newLore.add(line.contains("%lang_") ? processText(line, player) : line);
+            List<String> lore = new ArrayList<>(meta.getLore());
+            for (int i = 0; i < lore.size(); i++) {
+                lore.set(i, translateText(lore.get(i), lang));
             }
-            meta.setLore(newLore);
+            translatedMeta.setLore(lore);
         }
-        clone.setItemMeta(meta);
-        return clone;
+        itemCache.put(key, new TranslatedItem(generation, translatedMeta));
+        return withMeta(item, translatedMeta);
+    }
+
+    private static ItemStack withMeta(ItemStack item, ItemMeta meta) {
+        ItemStack copy = item.clone();
+        copy.setItemMeta(meta);
+        return copy;
+    }
+
+    private String translateText(String text, String lang) {
+        return ComponentRewriter.rewriteText(text, key -> langManager.getSimpleTranslation(lang, key));
     }
 
     /**
-     * Resolves a translation key for the given player.
-     * Thread-safe: uses only Caffeine caches and ConcurrentHashMap, no PlaceholderAPI.
+     * Replaces %lang_*% placeholders in the text of a chat component JSON with properly escaped translations.
+     *
+     * @return The processed JSON, or {@code json} itself if nothing was replaced.
      */
-    private String resolveKey(Player player, String key) {
-        String lang = langManager.getPlayerLang(player.getUniqueId());
-        if (lang == null) lang = langManager.getDefaultLang();
-        return langManager.getSimpleTranslation(lang, key);
+    private String processJson(String json, Player player, PacketType type) {
+        int langId = playerLangId(player);
+        ContentKey cacheKey = ContentKey.of(langId, true, json);
+        int generation = langManager.getGeneration();
+        Processed cached = processedCache.getIfPresent(cacheKey);
+        if (isCurrent(cached, json, generation, marked(type))) return cached.text == null ? json : cached.text;
+
+        // Translations carry a pre-escaped JSON form, so nothing is escaped per replacement
+        String lang = langManager.getPlayerLangs().langCode(langId);
+        String result = ComponentRewriter.rewriteJson(json, key -> langManager.getSimpleJsonTranslation(lang, key));
+        processedCache.put(cacheKey, new Processed(generation, result == json ? null : result, verifyOnHit ? json : null));
+        return result;
     }
 
     /**
-     * Replaces %lang_*% placeholders in a JSON string with properly escaped translations.
+     * Replaces %lang_*% placeholders in plain text.
+     *
+     * @return The processed text, or {@code text} itself if nothing was replaced.
      */
-    private String processJson(String json, Player player) {
-        String lang = langManager.getPlayerLang(player.getUniqueId());
-        if (lang == null) lang = langManager.getDefaultLang();
-        String cacheKey = lang + ":" + json;
-        String cached = processedCache.getIfPresent(cacheKey);
-        if (cached != null) return cached;
-
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(json);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            String key = matcher.group(1);
-            String translation = resolveKey(player, key);
-            if (translation != null) {
-                // Gson handles all JSON special characters (\t, \b, \f, unicode, etc.)
-                String escaped = GSON.toJson(translation);
-                // Remove surrounding quotes added by Gson.toJson()
-                escaped = escaped.substring(1, escaped.length() - 1);
-                matcher.appendReplacement(sb, Matcher.quoteReplacement(escaped));
-            }
-        }
-        matcher.appendTail(sb);
-        String result = sb.toString();
-        processedCache.put(cacheKey, result);
+    private String processText(String text, int langId, PacketType type) {
+        ContentKey cacheKey = ContentKey.of(langId, false, text);
+        int generation = langManager.getGeneration();
+        Processed cached = processedCache.getIfPresent(cacheKey);
+        if (isCurrent(cached, text, generation, marked(type))) return cached.text == null ? text : cached.text;
+
+        String result = translateText(text, langManager.getPlayerLangs().langCode(langId));
+        processedCache.put(cacheKey, new Processed(generation, result == text ? null : result, verifyOnHit ? text : null));
         return result;
     }
 
     /**
-     * Replaces %lang_*% placeholders in plain text.
+     * The player's language ID, or the default language's if none is loaded.
      */
-    private String processText(String text, Player player) {
-        String lang = langManager.getPlayerLang(player.getUniqueId());
-        if (lang == null) lang = langManager.getDefaultLang();
-        String cacheKey = "text:" + lang + ":" + text;
-        String cached = processedCache.getIfPresent(cacheKey);
-        if (cached != null) return cached;
-
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(text);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            String key = matcher.group(1);
-            String translation = resolveKey(player, key);
-            if (translation != null) {
-                matcher.appendReplacement(sb, Matcher.quoteReplacement(translation));
-            }
+    private int playerLangId(Player player) {
+        int langId = langManager.getPlayerLangs().getId(player.getUniqueId());
+        return langId != -1 ? langId : langManager.getPlayerLangs().langId(langManager.getDefaultLang());
+    }
+
+    private boolean isCurrent(Processed cached, String content, int generation, PacketStats stats) {
+        if (cached == null) {
+            stats.misses.increment();
+            return false;
         }
-        matcher.appendTail(sb);
-        String result = sb.toString();
-        processedCache.put(cacheKey, result);
-        return result;
+        if (cached.source != null && !cached.source.equals(content)) {
+            stats.collisions.increment();
+            return false;
+        }
+        if (cached.generation != generation) {
+            stats.stale.increment();
+            return false;
+        }
+        stats.hits.increment();
+        return true;
     }
 }
@@ -1,6 +1,8 @@
 package me.icegames.iglanguages.placeholder;
 
 import me.icegames.iglanguages.manager.LangManager;
+import me.icegames.iglanguages.translation.ParsedParams;
+import me.icegames.iglanguages.translation.TranslationKey;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.entity.Player;
 
@@ -57,10 +59,21 @@ public class LangExpansion extends PlaceholderExpansion {
                 }
             }
         }
+        if (params.indexOf(':') != -1) {
+            // Keys with arguments are parsed once per distinct params string
+            ParsedParams parsed = langManager.getParams(params);
+            if (p == null) {
+                return langManager.getLangTranslation(langManager.getDefaultLang(), parsed.getKey(), parsed.getArgs());
+            }
+            return langManager.getTranslation(p, parsed);
+        }
+
+        // Plain keys resolve to a reusable handle, so each render is a single array read
+        TranslationKey key = langManager.getKey(params);
         if (p == null) {
             // return default translate if player == null
-            return langManager.getLangTranslation(langManager.getDefaultLang(), params);
+            return langManager.getLangTranslation(langManager.getDefaultLang(), key);
         }
-        return langManager.getTranslation(p, params);
+        return langManager.getTranslation(p, key);
     }
 }
@@ -0,0 +1,259 @@
+package me.icegames.iglanguages.translation;
+
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formatting of a typed argument slot such as {@code {0,number}}, {@code {1,duration}}
+ * or {@code {2,date,short}}.
+ * <p>
+ * Slots are compiled once per language, and the JDK formatters they use are created
+ * once per locale and thread (they aren't thread-safe), so formatting never builds a
+ * formatter at request time. Supported types:
+ * <ul>
+ *     <li>{@code number}, with style {@code integer}, {@code percent} or {@code currency}</li>
+ *     <li>{@code duration}: a number of seconds, as {@code m:ss}, {@code h:mm:ss} or {@code Nd h:mm:ss}</li>
+ *     <li>{@code date}, {@code time} and {@code datetime}: epoch milliseconds, with style
+ *     {@code short}, {@code medium} (default), {@code long} or {@code full}</li>
+ * </ul>
+ */
+public final class ArgFormat {
+
+    private static final byte NUMBER = 0;
+    private static final byte INTEGER = 1;
+    private static final byte PERCENT = 2;
+    private static final byte CURRENCY = 3;
+    private static final byte DURATION = 4;
+    private static final byte DATE = 5;
+    private static final byte TIME = 6;
+    private static final byte DATETIME = 7;
+
+    private static final Map<Locale, Formatters> FORMATTERS = new ConcurrentHashMap<>();
+
+    private final byte kind;
+    private final int style;
+    private final Formatters formatters;
+
+    private ArgFormat(byte kind, int style, Formatters formatters) {
+        this.kind = kind;
+        this.style = style;
+        this.formatters = formatters;
+    }
+
+    /**
+     * Compiles the type and style of a slot, or returns null if they aren't supported.
+     *
+     * @param style The style, or null if the slot has none.
+     */
+    static ArgFormat of(String type, String style, Locale locale) {
+        Formatters formatters = FORMATTERS.computeIfAbsent(locale == null ? Locale.ROOT : locale, Formatters::new);
+        switch (type) {
+            case "number":
+                if (style == null) {
+                    return new ArgFormat(NUMBER, 0, formatters);
+                }
+                switch (style) {
+                    case "integer":
+                        return new ArgFormat(INTEGER, 0, formatters);
+                    case "percent":
+                        return new ArgFormat(PERCENT, 0, formatters);
+                    case "currency":
+                        return new ArgFormat(CURRENCY, 0, formatters);
+                    default:
+                        return null;
+                }
+            case "duration":
+                return style == null ? new ArgFormat(DURATION, 0, formatters) : null;
+            case "date":
+            case "time":
+            case "datetime":
+                int dateStyle = dateStyle(style);
+                if (dateStyle < 0) {
+                    return null;
+                }
+                byte kind = type.equals("date") ? DATE : type.equals("time") ? TIME : DATETIME;
+                return new ArgFormat(kind, dateStyle, formatters);
+            default:
+                return null;
+        }
+    }
+
+    private static int dateStyle(String style) {
+        if (style == null) {
+            return DateFormat.MEDIUM;
+        }
+        switch (style) {
+            case "short":
+                return DateFormat.SHORT;
+            case "medium":
+                return DateFormat.MEDIUM;
+            case "long":
+                return DateFormat.LONG;
+            case "full":
+                return DateFormat.FULL;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Maps a language code such as "pt_br" to its locale.
+     */
+    public static Locale localeOf(String lang) {
+        return lang == null ? Locale.ROOT : Locale.forLanguageTag(lang.replace('_', '-'));
+    }
+
+    /**
+     * Formats a value given as text. Values that aren't numbers are appended unchanged.
+     */
+    public void format(StringBuilder out, String value) {
+        String trimmed = value.trim();
+        try {
+            if (trimmed.indexOf('.') == -1 && trimmed.indexOf('e') == -1 && trimmed.indexOf('E') == -1) {
+                format(out, Long.parseLong(trimmed));
+            } else {
+                format(out, Double.parseDouble(trimmed));
+            }
+        } catch (NumberFormatException e) {
+            out.append(value);
+        }
+    }
+
+    /**
+     * Same as {@link #format(StringBuilder, String)}, returning the text.
+     */
+    public String format(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 8);
+        format(out, value);
+        return out.toString();
+    }
+
+    public void format(StringBuilder out, long value) {
+        switch (kind) {
+            case NUMBER:
+                out.append(formatters.number.get().format(value));
+                break;
+            case INTEGER:
+                out.append(formatters.integer.get().format(value));
+                break;
+            case PERCENT:
+                out.append(formatters.percent.get().format(value));
+                break;
+            case CURRENCY:
+                out.append(formatters.currency.get().format(value));
+                break;
+            case DURATION:
+                appendDuration(out, value);
+                break;
+            default:
+                appendDate(out, value);
+                break;
+        }
+    }
+
+    public void format(StringBuilder out, double value) {
+        switch (kind) {
+            case NUMBER:
+                out.append(formatters.number.get().format(value));
+                break;
+            case INTEGER:
+                out.append(formatters.integer.get().format(value));
+                break;
+            case PERCENT:
+                out.append(formatters.percent.get().format(value));
+                break;
+            case CURRENCY:
+                out.append(formatters.currency.get().format(value));
+                break;
+            case DURATION:
+                appendDuration(out, (long) value);
+                break;
+            default:
+                appendDate(out, (long) value);
+                break;
+        }
+    }
+
+    private void appendDate(StringBuilder out, long millis) {
+        Formatters.DateFormats formats = formatters.dates.get();
+        formats.date.setTime(millis);
+        out.append(formats.get(kind - DATE, style).format(formats.date));
+    }
+
+    private static void appendDuration(StringBuilder out, long seconds) {
+        if (seconds < 0) {
+            out.append('-');
+            seconds = -seconds;
+        }
+        long days = seconds / 86_400;
+        long hours = seconds / 3_600 % 24;
+        long minutes = seconds / 60 % 60;
+        long secs = seconds % 60;
+        if (days > 0) {
+            out.append(days).append("d ");
+        }
+        if (days > 0 || hours > 0) {
+            out.append(hours).append(':');
+            pad(out, minutes);
+        } else {
+            out.append(minutes);
+        }
+        out.append(':');
+        pad(out, secs);
+    }
+
+    private static void pad(StringBuilder out, long value) {
+        if (value < 10) {
+            out.append('0');
+        }
+        out.append(value);
+    }
+
+    /**
+     * Formatters of one locale, one instance per thread.
+     */
+    private static final class Formatters {
+        final ThreadLocal<NumberFormat> number;
+        final ThreadLocal<NumberFormat> integer;
+        final ThreadLocal<NumberFormat> percent;
+        final ThreadLocal<NumberFormat> currency;
+        final ThreadLocal<DateFormats> dates;
+
+        Formatters(Locale locale) {
+            this.number = ThreadLocal.withInitial(() -> NumberFormat.getNumberInstance(locale));
+            this.integer = ThreadLocal.withInitial(() -> NumberFormat.getIntegerInstance(locale));
+            this.percent = ThreadLocal.withInitial(() -> NumberFormat.getPercentInstance(locale));
+            this.currency = ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(locale));
+            this.dates = ThreadLocal.withInitial(() -> new DateFormats(locale));
+        }
+
+        /**
+         * Date, time and date-time formats by style, created on first use, plus a reusable Date.
+         */
+        static final class DateFormats {
+            final Locale locale;
+            final DateFormat[] formats = new DateFormat[12];
+            final Date date = new Date();
+
+            DateFormats(Locale locale) {
+                this.locale = locale;
+            }
+
+            DateFormat get(int type, int style) {
+                int index = type * 4 + style;
+                DateFormat format = formats[index];
+                if (format == null) {
+                    format = type == 0 ? DateFormat.getDateInstance(style, locale)
+                            : type == 1 ? DateFormat.getTimeInstance(style, locale)
+                            : DateFormat.getDateTimeInstance(style, style, locale);
+                    formats[index] = format;
+                }
+                return format;
+            }
+        }
+    }
+}
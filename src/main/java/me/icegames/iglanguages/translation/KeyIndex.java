@@ -0,0 +1,146 @@
+package me.icegames.iglanguages.translation;
+
+/**
+ * Interns translation keys to dense integer IDs.
+ * <p>
+ * Implemented as an open-addressing table whose hash and comparison fold case
+ * character by character, so mixed-case keys (or a key embedded in a larger
+ * string such as "key:arg0,arg1") can be resolved without allocating a
+ * lower-cased copy. Keys are stored folded; IDs are assigned in insertion
+ * order starting at 0. The table is only mutated while a snapshot is built and
+ * is read-only once published.
+ */
+public final class KeyIndex {
+
+    private String[] names = new String[16];
+    private int size;
+    // slot -> id + 1 (0 marks an empty slot)
+    private int[] slots = new int[32];
+    // slot -> folded hash of the key stored there, checked before comparing chars
+    private int[] hashes = new int[32];
+    private int mask = 31;
+
+    /**
+     * Folds a key to its stored form (per-character lower case, independent of the default locale).
+     */
+    public static String normalize(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (fold(c) != c) {
+                char[] chars = key.toCharArray();
+                for (int j = i; j < chars.length; j++) {
+                    chars[j] = fold(chars[j]);
+                }
+                return new String(chars);
+            }
+        }
+        return key;
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static int hash(CharSequence key, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + fold(key.charAt(i));
+        }
+        // Spread the bits so the low bits used for slot selection aren't clustered
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the ID of {@code key}, assigning the next free one if it is new.
+     * Only used while building a snapshot.
+     */
+    int intern(String key) {
+        int existing = id(key, 0, key.length());
+        if (existing != -1) {
+            return existing;
+        }
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        if (size == names.length) {
+            String[] grown = new String[size * 2];
+            System.arraycopy(names, 0, grown, 0, size);
+            names = grown;
+        }
+        String normalized = normalize(key);
+        int id = size++;
+        names[id] = normalized;
+        insert(id, hash(normalized, 0, normalized.length()));
+        return id;
+    }
+
+    private void insert(int id, int hash) {
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+        hashes[slot] = hash;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldSlots = slots;
+        int[] oldHashes = hashes;
+        slots = new int[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != 0) {
+                insert(oldSlots[i] - 1, oldHashes[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of {@code key} (case-insensitive), or -1 if it is unknown.
+     */
+    public int id(CharSequence key) {
+        return id(key, 0, key.length());
+    }
+
+    /**
+     * Returns the ID of the key in {@code key[start, end)} (case-insensitive), or -1 if it is unknown.
+     * Does not allocate.
+     */
+    public int id(CharSequence key, int start, int end) {
+        int hash = hash(key, start, end);
+        int length = end - start;
+        int slot = hash & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (hashes[slot] == hash && matches(names[entry - 1], key, start, length)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static boolean matches(String name, CharSequence key, int start, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != fold(key.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,47 @@
+package me.icegames.iglanguages.translation;
+
+/**
+ * A "key:arg0,arg1" parameter string, parsed once.
+ * <p>
+ * Holders are interned by the raw string (see {@code LangManager#getParams}), so
+ * placeholder plugins that send the same parameters over and over pay for the
+ * split only the first time. Instances are immutable and the args array must
+ * not be modified.
+ */
+public final class ParsedParams {
+
+    private final TranslationKey key;
+    private final String[] args;
+    private final boolean bracketArgs;
+
+    public ParsedParams(TranslationKey key, String[] args) {
+        this.key = key;
+        this.args = args;
+        boolean brackets = false;
+        for (String arg : args) {
+            if (arg.indexOf('{') != -1) {
+                brackets = true;
+                break;
+            }
+        }
+        this.bracketArgs = brackets;
+    }
+
+    public TranslationKey getKey() {
+        return key;
+    }
+
+    /**
+     * The split arguments, shared by every use of this holder.
+     */
+    public String[] getArgs() {
+        return args;
+    }
+
+    /**
+     * True if any argument may contain a {bracket} PlaceholderAPI placeholder.
+     */
+    public boolean hasBracketArgs() {
+        return bracketArgs;
+    }
+}
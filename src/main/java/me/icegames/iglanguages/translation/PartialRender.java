@@ -0,0 +1,131 @@
+package me.icegames.iglanguages.translation;
+
+/**
+ * A render with its stable parts baked in and its volatile placeholders left open.
+ * <p>
+ * Holds {@code holes.length + 1} text parts; the final text is
+ * {@code parts[0] + value(holes[0]) + parts[1] + ... + parts[n]}. A render
+ * without holes is simply its text.
+ * <p>
+ * Each render is stamped with the generation of the snapshot it was produced
+ * from and the fingerprint of its template tree, so after a reload it can be
+ * carried over to the new snapshot without rendering again when nothing it
+ * depends on changed.
+ */
+public final class PartialRender {
+
+    /** Expiry of renders that contain no time-limited values. */
+    public static final long NEVER = Long.MAX_VALUE;
+
+    private static final String[] NO_HOLES = new String[0];
+
+    private final Template source;
+    private final String lang;
+    private final String key;
+    private final int generation;
+    private final long fingerprint;
+    private final String[] parts;
+    private final String[] holes;
+    private final long expiresAt;
+    private final int length;
+
+    /**
+     * @param source      Template this was rendered from.
+     * @param lang        Language it was rendered in.
+     * @param key         Normalized key of the template.
+     * @param generation  Generation of the snapshot it was rendered from.
+     * @param fingerprint {@link TranslationSnapshot#fingerprint} of the template tree, or 0 if unknown.
+     * @param expiresAt   Expiry ({@link System#nanoTime()} based), or {@link #NEVER}.
+     */
+    public PartialRender(Template source, String lang, String key, int generation, long fingerprint,
+                         String[] parts, String[] holes, long expiresAt) {
+        this.source = source;
+        this.lang = lang;
+        this.key = key;
+        this.generation = generation;
+        this.fingerprint = fingerprint;
+        this.parts = parts;
+        this.holes = holes;
+        this.expiresAt = expiresAt;
+        int length = 0;
+        for (String part : parts) {
+            length += part.length();
+        }
+        this.length = length + holes.length * 8;
+    }
+
+    /**
+     * A fully rendered text.
+     */
+    public PartialRender(Template source, String lang, String key, int generation, long fingerprint,
+                         String text, long expiresAt) {
+        this(source, lang, key, generation, fingerprint, new String[]{text}, NO_HOLES, expiresAt);
+    }
+
+    /**
+     * The same render, carried over to a newer snapshot whose template tree has the same fingerprint.
+     */
+    public PartialRender restamp(Template template, int generation) {
+        return new PartialRender(template, lang, key, generation, fingerprint, parts, holes, expiresAt);
+    }
+
+    public Template getSource() {
+        return source;
+    }
+
+    public String getLang() {
+        return lang;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * True if this was rendered from {@code template} in {@code lang}.
+     */
+    public boolean matches(Template template, String lang) {
+        return source == template && this.lang.equals(lang);
+    }
+
+    public String[] getParts() {
+        return parts;
+    }
+
+    /**
+     * Placeholders (including '%') to resolve between the parts.
+     */
+    public String[] getHoles() {
+        return holes;
+    }
+
+    public boolean isComplete() {
+        return holes.length == 0;
+    }
+
+    /**
+     * The text of a complete render.
+     */
+    public String getText() {
+        return parts[0];
+    }
+
+    public boolean isExpired(long now) {
+        return expiresAt != NEVER && now - expiresAt > 0;
+    }
+
+    /**
+     * Expected length of the final text, for pre-sizing the output.
+     */
+    public int estimateLength() {
+        return length;
+    }
+}
@@ -0,0 +1,188 @@
+package me.icegames.iglanguages.translation;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CLDR plural categories of a language, compiled into a lookup table.
+ * <p>
+ * Almost every rule supported here only depends on {@code n}, {@code n % 10} and
+ * {@code n % 100} for {@code n >= 100}, so the categories of 0..199 are computed
+ * once per language and any other whole number maps onto that table with
+ * {@code 100 + n % 100}. Selecting a form is then a single array read. French and
+ * Portuguese also have {@code many} for exact millions (1000000, 2000000, ...),
+ * which that folding can't express, so numbers of 200 and up evaluate their rule
+ * directly. Fractional values always evaluate the rule.
+ */
+public final class PluralRules {
+
+    public static final int ZERO = 0;
+    public static final int ONE = 1;
+    public static final int TWO = 2;
+    public static final int FEW = 3;
+    public static final int MANY = 4;
+    public static final int OTHER = 5;
+
+    private static final String[] CATEGORY_NAMES = {"zero", "one", "two", "few", "many", "other"};
+    private static final int TABLE_SIZE = 200;
+    private static final Map<String, PluralRules> BY_LANGUAGE = new ConcurrentHashMap<>();
+
+    /**
+     * A CLDR rule over the plural operands {@code i} (integer digits) and {@code v}
+     * (number of visible fraction digits, 0 for whole numbers).
+     */
+    private interface Rule {
+        int category(long i, int v);
+    }
+
+    private final byte[] table = new byte[TABLE_SIZE];
+    private final Rule rule;
+    // Whether the categories of n >= 200 repeat those of 100 + n % 100
+    private final boolean folds;
+
+    private PluralRules(Rule rule, boolean folds) {
+        this.rule = rule;
+        this.folds = folds;
+        for (int n = 0; n < TABLE_SIZE; n++) {
+            table[n] = (byte) rule.category(n, 0);
+        }
+    }
+
+    /**
+     * Rules of a locale's language, shared by every template of that language.
+     */
+    public static PluralRules forLocale(Locale locale) {
+        String language = locale == null ? "" : locale.getLanguage();
+        return BY_LANGUAGE.computeIfAbsent(language, l -> new PluralRules(rule(l), !hasMillions(l)));
+    }
+
+    /**
+     * Category of a whole number.
+     */
+    public int select(long n) {
+        if (n < 0) {
+            n = -n;
+        }
+        if (n < TABLE_SIZE) {
+            return table[(int) n];
+        }
+        return folds ? table[100 + (int) (n % 100)] : rule.category(n, 0);
+    }
+
+    /**
+     * Category of a number that may have a fraction.
+     */
+    public int select(double n) {
+        double abs = Math.abs(n);
+        long i = (long) abs;
+        if (i == abs) {
+            return select(i);
+        }
+        return rule.category(i, 1);
+    }
+
+    /**
+     * Returns the category with the given CLDR name, or -1.
+     */
+    public static int category(String name) {
+        for (int i = 0; i < CATEGORY_NAMES.length; i++) {
+            if (CATEGORY_NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hasMillions(String language) {
+        return language.equals("fr") || language.equals("pt");
+    }
+
+    private static Rule rule(String language) {
+        switch (language) {
+            case "ja": case "zh": case "ko": case "th": case "vi": case "id": case "ms": case "lo": case "my": case "km":
+                return (i, v) -> OTHER;
+            case "fr": case "pt":
+                return (i, v) -> i == 0 || i == 1 ? ONE : v == 0 && i % 1_000_000 == 0 ? MANY : OTHER;
+            case "hy":
+                return (i, v) -> i == 0 || i == 1 ? ONE : OTHER;
+            case "ru": case "uk": case "be":
+                return (i, v) -> {
+                    if (v != 0) {
+                        return OTHER;
+                    }
+                    long mod10 = i % 10, mod100 = i % 100;
+                    if (mod10 == 1 && mod100 != 11) {
+                        return ONE;
+                    }
+                    if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) {
+                        return FEW;
+                    }
+                    return MANY;
+                };
+            case "hr": case "sr": case "bs":
+                return (i, v) -> {
+                    if (v != 0) {
+                        return OTHER;
+                    }
+                    long mod10 = i % 10, mod100 = i % 100;
+                    if (mod10 == 1 && mod100 != 11) {
+                        return ONE;
+                    }
+                    return mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14) ? FEW : OTHER;
+                };
+            case "pl":
+                return (i, v) -> {
+                    if (v != 0) {
+                        return OTHER;
+                    }
+                    if (i == 1) {
+                        return ONE;
+                    }
+                    long mod10 = i % 10, mod100 = i % 100;
+                    return mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14) ? FEW : MANY;
+                };
+            case "cs": case "sk":
+                return (i, v) -> v != 0 ? MANY : i == 1 ? ONE : i >= 2 && i <= 4 ? FEW : OTHER;
+            case "ro":
+                return (i, v) -> {
+                    if (i == 1 && v == 0) {
+                        return ONE;
+                    }
+                    long mod100 = i % 100;
+                    return v != 0 || i == 0 || (mod100 >= 1 && mod100 <= 19) ? FEW : OTHER;
+                };
+            case "lt":
+                return (i, v) -> {
+                    if (v != 0) {
+                        return MANY;
+                    }
+                    long mod10 = i % 10, mod100 = i % 100;
+                    if (mod100 >= 11 && mod100 <= 19) {
+                        return OTHER;
+                    }
+                    return mod10 == 1 ? ONE : mod10 >= 2 ? FEW : OTHER;
+                };
+            case "lv":
+                return (i, v) -> {
+                    long mod10 = i % 10, mod100 = i % 100;
+                    if (v == 0 && (mod10 == 0 || (mod100 >= 11 && mod100 <= 19))) {
+                        return ZERO;
+                    }
+                    return v == 0 && mod10 == 1 && mod100 != 11 ? ONE : OTHER;
+                };
+            case "ar":
+                return (i, v) -> {
+                    if (v != 0) {
+                        return OTHER;
+                    }
+                    long mod100 = i % 100;
+                    return i == 0 ? ZERO : i == 1 ? ONE : i == 2 ? TWO
+                            : mod100 >= 3 && mod100 <= 10 ? FEW : mod100 >= 11 ? MANY : OTHER;
+                };
+            default:
+                // English and most European languages
+                return (i, v) -> i == 1 && v == 0 ? ONE : OTHER;
+        }
+    }
+}
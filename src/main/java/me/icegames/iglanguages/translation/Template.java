@@ -0,0 +1,769 @@
+package me.icegames.iglanguages.translation;
+
+import me.icegames.iglanguages.util.JsonUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable, pre-compiled form of a translation.
+ * <p>
+ * A template is a flat list of segments produced once at load time:
+ * literal text, {@code {n}} argument slots (optionally typed, such as
+ * {@code {0,number}}, see {@link ArgFormat}), plural and select slots (see
+ * {@link Choice}), nested {@code %lang_...%} references and external
+ * (PlaceholderAPI) placeholders. Rendering is a single linear append into a
+ * pre-sized builder, with no regex involved.
+ * The JSON-escaped form of every piece is computed at compile time as well,
+ * so packet rewriting never escapes translation text at request time.
+ */
+public final class Template {
+
+    public static final byte LITERAL = 0;
+    public static final byte ARG = 1;
+    public static final byte LANG_REF = 2;
+    public static final byte EXTERNAL = 3;
+
+    public static final String[] NO_ARGS = new String[0];
+
+    private static final String LANG_PREFIX = "lang_";
+
+    /**
+     * Resolves the dynamic parts of a template while rendering.
+     * Implementations decide how nested references and external placeholders
+     * are expanded (e.g. with or without PlaceholderAPI).
+     */
+    public interface Resolver {
+        /**
+         * Appends the translation referenced by a nested %lang_key:args% placeholder.
+         */
+        void appendLangRef(StringBuilder out, String key, String[] args, int depth);
+
+        /**
+         * Appends the value of an external placeholder. {@code placeholder} includes the
+         * surrounding '%' characters.
+         */
+        void appendExternal(StringBuilder out, String placeholder);
+
+        /**
+         * Appends an argument value substituted into a {n} slot.
+         *
+         * @param depth Nesting depth of the template the slot belongs to.
+         */
+        void appendArg(StringBuilder out, String value, int depth);
+    }
+
+    /**
+     * A single compiled piece of a template.
+     */
+    public static final class Segment {
+        public final byte type;
+        /** Literal text, or the raw placeholder text (including '%') for references and externals. */
+        public final String text;
+        /** Argument index for ARG segments. */
+        public final int argIndex;
+        /** Normalized key for LANG_REF segments. */
+        public final String refKey;
+        /** Pre-split arguments for LANG_REF segments. */
+        public final String[] refArgs;
+        /** Set when the placeholder text itself contains {n} slots and must be rebuilt per render. */
+        public final Template inner;
+        /** {@link #text} escaped for a JSON string. */
+        public final String json;
+        /** Formatting of typed ARG segments, null for plain {n} slots. */
+        public final ArgFormat format;
+        /** Forms of {n,plural,...} and {n,select,...} ARG segments, null for other slots. */
+        public final Choice choice;
+
+        private Segment(byte type, String text, int argIndex, String refKey, String[] refArgs, Template inner) {
+            this(type, text, argIndex, refKey, refArgs, inner, null, null);
+        }
+
+        private Segment(byte type, String text, int argIndex, String refKey, String[] refArgs, Template inner,
+                        ArgFormat format, Choice choice) {
+            this.type = type;
+            this.format = format;
+            this.choice = choice;
+            this.text = text;
+            this.json = JsonUtil.escape(text);
+            this.argIndex = argIndex;
+            this.refKey = refKey;
+            this.refArgs = refArgs;
+            this.inner = inner;
+        }
+    }
+
+    private final String source;
+    private final String jsonSource;
+    private final Segment[] segments;
+    private final int literalLength;
+    private final boolean hasArgs;
+    private final boolean hasLangRefs;
+    private final boolean hasExternal;
+
+    private Template(String source, Segment[] segments) {
+        this.source = source;
+        this.jsonSource = JsonUtil.escape(source);
+        this.segments = segments;
+        int length = 0;
+        boolean args = false, refs = false, external = false;
+        for (Segment segment : segments) {
+            switch (segment.type) {
+                case LITERAL:
+                    length += segment.text.length();
+                    break;
+                case ARG:
+                    args = true;
+                    if (segment.choice != null) {
+                        refs |= segment.choice.hasLangRefs;
+                        external |= segment.choice.hasExternal;
+                    }
+                    break;
+                case LANG_REF:
+                    refs = true;
+                    args |= segment.inner != null;
+                    break;
+                default:
+                    external = true;
+                    args |= segment.inner != null;
+                    break;
+            }
+        }
+        this.literalLength = length;
+        this.hasArgs = args;
+        this.hasLangRefs = refs;
+        this.hasExternal = external;
+    }
+
+    /**
+     * Compiles a (colorized) translation into a template, formatting typed slots for {@link Locale#ROOT}.
+     */
+    public static Template compile(String source) {
+        return compile(source, null);
+    }
+
+    /**
+     * Compiles a (colorized) translation into a template.
+     *
+     * @param locale Locale typed slots such as {0,number} are formatted for, or null for {@link Locale#ROOT}.
+     */
+    public static Template compile(String source, Locale locale) {
+        return new Template(source, parse(source, true, locale));
+    }
+
+    /**
+     * The text this template was compiled from.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * The source text escaped for a JSON string (without quotes).
+     */
+    public String getJsonSource() {
+        return jsonSource;
+    }
+
+    public Segment[] getSegments() {
+        return segments;
+    }
+
+    public boolean hasArgs() {
+        return hasArgs;
+    }
+
+    public boolean hasLangRefs() {
+        return hasLangRefs;
+    }
+
+    public boolean hasExternal() {
+        return hasExternal;
+    }
+
+    /**
+     * True when the template contains any %...% placeholder (nested or external).
+     */
+    public boolean hasPlaceholders() {
+        return hasLangRefs || hasExternal;
+    }
+
+    /**
+     * True when rendering can only ever produce the source text.
+     */
+    public boolean isStatic() {
+        return !hasArgs && !hasLangRefs && !hasExternal;
+    }
+
+    /**
+     * Renders the template into a new string.
+     *
+     * @param args     Values for {n} slots. Out-of-range slots are kept as-is.
+     * @param resolver Resolver for nested and external placeholders, or null to keep them verbatim.
+     */
+    public String render(String[] args, Resolver resolver) {
+        if (isStatic() || (resolver == null && args.length == 0)) {
+            return source;
+        }
+        StringBuilder out = new StringBuilder(estimateLength(args));
+        appendTo(out, args, resolver, 0);
+        return out.toString();
+    }
+
+    /**
+     * Renders the template with numeric arguments, formatted by typed slots without boxing.
+     * Plain {n} slots get the number as-is.
+     */
+    public String render(long[] values, Resolver resolver) {
+        StringBuilder out = new StringBuilder(literalLength + values.length * 8 + 16);
+        appendTo(out, null, values, null, resolver, 0);
+        return out.toString();
+    }
+
+    /**
+     * Same as {@link #render(long[], Resolver)}, for fractional numbers.
+     */
+    public String render(double[] values, Resolver resolver) {
+        StringBuilder out = new StringBuilder(literalLength + values.length * 12 + 16);
+        appendTo(out, null, null, values, resolver, 0);
+        return out.toString();
+    }
+
+    /**
+     * Renders the template with placeholders kept verbatim, escaped for a JSON string (without quotes).
+     * Only argument values are escaped here; all template text was escaped at compile time.
+     */
+    public String renderJson(String[] args) {
+        if (!hasArgs || args.length == 0) {
+            return jsonSource;
+        }
+        StringBuilder out = new StringBuilder(estimateLength(args) + 16);
+        for (Segment segment : segments) {
+            if (segment.type == ARG && segment.argIndex < args.length && segment.choice != null) {
+                out.append(segment.choice.select(args[segment.argIndex]).renderJson(args));
+            } else if (segment.type == ARG && segment.argIndex < args.length) {
+                String arg = args[segment.argIndex];
+                JsonUtil.appendEscaped(out, segment.format == null ? arg : segment.format.format(arg));
+            } else if (segment.inner != null) {
+                JsonUtil.appendEscaped(out, segment.inner.render(args, null));
+            } else {
+                out.append(segment.json);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Appends the rendered template to {@code out}.
+     *
+     * @param depth Nesting depth of %lang_% references, used by resolvers to stop cycles.
+     */
+    public void appendTo(StringBuilder out, String[] args, Resolver resolver, int depth) {
+        appendTo(out, args, null, null, resolver, depth);
+    }
+
+    /**
+     * Arguments come from exactly one of {@code args}, {@code longs} and {@code doubles}.
+     */
+    private void appendTo(StringBuilder out, String[] args, long[] longs, double[] doubles, Resolver resolver,
+                          int depth) {
+        int argCount = args != null ? args.length : longs != null ? longs.length : doubles.length;
+        for (Segment segment : segments) {
+            if (segment.inner != null && args == null) {
+                // Placeholders built from {n} slots need the arguments as text
+                args = toStrings(longs, doubles);
+            }
+            switch (segment.type) {
+                case LITERAL:
+                    out.append(segment.text);
+                    break;
+                case ARG:
+                    if (segment.argIndex >= argCount) {
+                        out.append(segment.text);
+                    } else if (segment.choice != null) {
+                        Template form = longs != null ? segment.choice.select(longs[segment.argIndex])
+                                : doubles != null ? segment.choice.select(doubles[segment.argIndex])
+                                : segment.choice.select(resolveArg(args[segment.argIndex], resolver, depth));
+                        form.appendTo(out, args, longs, doubles, resolver, depth);
+                    } else if (longs != null) {
+                        if (segment.format != null) {
+                            segment.format.format(out, longs[segment.argIndex]);
+                        } else {
+                            out.append(longs[segment.argIndex]);
+                        }
+                    } else if (doubles != null) {
+                        if (segment.format != null) {
+                            segment.format.format(out, doubles[segment.argIndex]);
+                        } else {
+                            out.append(doubles[segment.argIndex]);
+                        }
+                    } else {
+                        appendArg(out, segment, args[segment.argIndex], resolver, depth);
+                    }
+                    break;
+                case LANG_REF:
+                    if (resolver == null) {
+                        appendVerbatim(out, segment, args);
+                    } else if (segment.inner == null) {
+                        resolver.appendLangRef(out, segment.refKey, segment.refArgs, depth);
+                    } else {
+                        String rebuilt = segment.inner.render(args, null);
+                        String captured = rebuilt.substring(1 + LANG_PREFIX.length(), rebuilt.length() - 1);
+                        int colon = captured.indexOf(':');
+                        String key = colon == -1 ? captured : captured.substring(0, colon);
+                        String[] refArgs = colon == -1 ? NO_ARGS : splitArgs(captured, colon + 1);
+                        resolver.appendLangRef(out, key, refArgs, depth);
+                    }
+                    break;
+                default:
+                    if (resolver == null) {
+                        appendVerbatim(out, segment, args);
+                    } else {
+                        resolver.appendExternal(out,
+                                segment.inner == null ? segment.text : segment.inner.render(args, null));
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static void appendArg(StringBuilder out, Segment segment, String value, Resolver resolver, int depth) {
+        if (segment.format == null) {
+            if (resolver != null) {
+                resolver.appendArg(out, value, depth);
+            } else {
+                out.append(value);
+            }
+            return;
+        }
+        // Resolve placeholders first, e.g. {0,number} filled with %player_level%
+        segment.format.format(out, resolveArg(value, resolver, depth));
+    }
+
+    private static String resolveArg(String value, Resolver resolver, int depth) {
+        if (resolver == null || value.indexOf('%') == -1) {
+            return value;
+        }
+        StringBuilder resolved = new StringBuilder(value.length() + 8);
+        resolver.appendArg(resolved, value, depth);
+        return resolved.toString();
+    }
+
+    private static String[] toStrings(long[] longs, double[] doubles) {
+        String[] strings = new String[longs != null ? longs.length : doubles.length];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = longs != null ? String.valueOf(longs[i]) : String.valueOf(doubles[i]);
+        }
+        return strings;
+    }
+
+    private static void appendVerbatim(StringBuilder out, Segment segment, String[] args) {
+        if (segment.inner == null) {
+            out.append(segment.text);
+        } else {
+            segment.inner.appendTo(out, args, null, 0);
+        }
+    }
+
+    /**
+     * Estimates the rendered length so the output builder never has to grow
+     * for templates without placeholders.
+     */
+    public int estimateLength(String[] args) {
+        int length = literalLength;
+        if (hasArgs) {
+            for (String arg : args) {
+                length += arg.length();
+            }
+        }
+        if (hasLangRefs || hasExternal) {
+            length += 16;
+        }
+        return length;
+    }
+
+    /**
+     * Splits "a,b\,c" into ["a", "b,c"], starting at {@code from}.
+     * Use '\,' for literal commas in arguments.
+     */
+    public static String[] splitArgs(String input, int from) {
+        List<String> args = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = from; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\\' && i + 1 < input.length() && input.charAt(i + 1) == ',') {
+                current.append(',');
+                i++; // skip escaped comma
+            } else if (c == ',') {
+                args.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        args.add(current.toString());
+        return args.toArray(new String[0]);
+    }
+
+    // ---------------------------------------------------------------
+    // Compilation
+    // ---------------------------------------------------------------
+
+    private static Segment[] parse(String source, boolean placeholders, Locale locale) {
+        List<Segment> segments = new ArrayList<>();
+        int length = source.length();
+        int literalStart = 0;
+        int i = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '{') {
+                int end = scanArg(source, i);
+                Segment arg = end == -1 ? null : arg(source.substring(i, end + 1), locale);
+                if (arg == null && (end = scanChoice(source, i)) != -1) {
+                    arg = choice(source.substring(i, end + 1), locale);
+                }
+                if (arg != null) {
+                    addLiteral(segments, source, literalStart, i);
+                    segments.add(arg);
+                    i = end + 1;
+                    literalStart = i;
+                    continue;
+                }
+            } else if (c == '%' && placeholders) {
+                int end = source.indexOf('%', i + 1);
+                if (end == -1) {
+                    break;
+                }
+                if (end == i + 1) {
+                    // "%%" never forms a placeholder; the second '%' may open one
+                    i = end;
+                    continue;
+                }
+                addLiteral(segments, source, literalStart, i);
+                segments.add(placeholder(source.substring(i, end + 1), locale));
+                i = end + 1;
+                literalStart = i;
+                continue;
+            }
+            i++;
+        }
+        addLiteral(segments, source, literalStart, length);
+        return segments.toArray(new Segment[0]);
+    }
+
+    private static Segment placeholder(String text, Locale locale) {
+        Template inner = null;
+        if (text.indexOf('{') != -1) {
+            Segment[] innerSegments = parse(text, false, locale);
+            if (innerSegments.length > 1 || innerSegments[0].type != LITERAL) {
+                inner = new Template(text, innerSegments);
+            }
+        }
+
+        if (text.regionMatches(1, LANG_PREFIX, 0, LANG_PREFIX.length()) && text.length() > LANG_PREFIX.length() + 2) {
+            String captured = text.substring(1 + LANG_PREFIX.length(), text.length() - 1);
+            int colon = captured.indexOf(':');
+            String key = KeyIndex.normalize(colon == -1 ? captured : captured.substring(0, colon));
+            String[] args = colon == -1 ? NO_ARGS : splitArgs(captured, colon + 1);
+            return new Segment(LANG_REF, text, -1, key, args, inner);
+        }
+        return new Segment(EXTERNAL, text, -1, null, null, inner);
+    }
+
+    /**
+     * Compiles a "{n}" or "{n,type[,style]}" slot, or returns null if the type isn't supported.
+     */
+    private static Segment arg(String text, Locale locale) {
+        int comma = text.indexOf(',');
+        if (comma == -1) {
+            return new Segment(ARG, text, Integer.parseInt(text.substring(1, text.length() - 1)), null, null, null);
+        }
+        int styleComma = text.indexOf(',', comma + 1);
+        String type = text.substring(comma + 1, styleComma == -1 ? text.length() - 1 : styleComma).trim();
+        String style = styleComma == -1 ? null : text.substring(styleComma + 1, text.length() - 1).trim();
+        ArgFormat format = ArgFormat.of(type, style, locale);
+        if (format == null) {
+            return null;
+        }
+        return new Segment(ARG, text, Integer.parseInt(text.substring(1, comma)), null, null, null, format, null);
+    }
+
+    /**
+     * Compiles a "{n,plural,...}" or "{n,select,...}" slot, or returns null if it is malformed.
+     * Each form is compiled into its own template; in plural forms '#' stands for the number.
+     */
+    private static Segment choice(String text, Locale locale) {
+        int comma = text.indexOf(',');
+        int typeEnd = text.indexOf(',', comma + 1);
+        int index = Integer.parseInt(text.substring(1, comma));
+        boolean plural = text.substring(comma + 1, typeEnd).trim().equals("plural");
+        List<String> selectors = new ArrayList<>();
+        List<Template> forms = new ArrayList<>();
+        int end = text.length() - 1;
+        int i = typeEnd + 1;
+        while (i < end) {
+            int open = text.indexOf('{', i);
+            if (open == -1 || open > end) {
+                if (text.substring(i, end).trim().isEmpty()) {
+                    break;
+                }
+                return null;
+            }
+            int close = closingBrace(text, open);
+            String selector = text.substring(i, open).trim();
+            if (close == -1 || close > end || selector.isEmpty()) {
+                return null;
+            }
+            String form = text.substring(open + 1, close);
+            selectors.add(selector);
+            forms.add(compile(plural ? replaceHash(form, index) : form, locale));
+            i = close + 1;
+        }
+        Choice choice = Choice.of(plural ? PluralRules.forLocale(locale) : null, selectors, forms);
+        return choice == null ? null : new Segment(ARG, text, index, null, null, null, null, choice);
+    }
+
+    /**
+     * Replaces each '#' outside nested slots with a {n,number} slot.
+     */
+    private static String replaceHash(String form, int index) {
+        if (form.indexOf('#') == -1) {
+            return form;
+        }
+        StringBuilder out = new StringBuilder(form.length() + 16);
+        int depth = 0;
+        for (int i = 0; i < form.length(); i++) {
+            char c = form.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            } else if (c == '#' && depth == 0) {
+                out.append('{').append(index).append(",number}");
+                continue;
+            }
+            out.append(c);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Returns the index of the closing '}' of a {digits} or {digits,type[,style]} slot starting at
+     * {@code start}, or -1.
+     */
+    private static int scanArg(String source, int start) {
+        int i = start + 1;
+        int length = source.length();
+        while (i < length && i - start <= 9) {
+            char c = source.charAt(i);
+            if (c == '}') {
+                return i > start + 1 ? i : -1;
+            }
+            if (c == ',' && i > start + 1) {
+                return scanArgType(source, i + 1);
+            }
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the closing '}' of a {digits,plural,...} or {digits,select,...} slot
+     * starting at {@code start}, or -1.
+     */
+    private static int scanChoice(String source, int start) {
+        int i = start + 1;
+        while (i < source.length() && source.charAt(i) >= '0' && source.charAt(i) <= '9') {
+            i++;
+        }
+        if (i == start + 1 || i - start > 10 || i >= source.length() || source.charAt(i) != ',') {
+            return -1;
+        }
+        int typeEnd = source.indexOf(',', i + 1);
+        if (typeEnd == -1) {
+            return -1;
+        }
+        String type = source.substring(i + 1, typeEnd).trim();
+        if (!type.equals("plural") && !type.equals("select")) {
+            return -1;
+        }
+        return closingBrace(source, start);
+    }
+
+    /**
+     * Returns the index of the '}' matching the '{' at {@code open}, or -1.
+     */
+    private static int closingBrace(String source, int open) {
+        int depth = 0;
+        for (int i = open; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Scans the "type[,style]}" part of a typed slot: lower-case letters and at most one comma.
+     */
+    private static int scanArgType(String source, int from) {
+        int length = source.length();
+        boolean styled = false;
+        for (int i = from; i < length && i - from <= 24; i++) {
+            char c = source.charAt(i);
+            if (c == '}') {
+                return i > from && source.charAt(i - 1) != ',' ? i : -1;
+            }
+            if (c == ',' && !styled && i > from) {
+                styled = true;
+            } else if ((c < 'a' || c > 'z') && c != ' ') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The forms of a plural or select slot, compiled once per language.
+     * <p>
+     * Plural forms are stored by CLDR category, with missing categories pointing at
+     * {@code other}, so picking a form is an exact-match check followed by a table read
+     * in the language's {@link PluralRules}.
+     */
+    public static final class Choice {
+        private final PluralRules rules;
+        private final String[] keys;
+        private final Template[] forms;
+        private final long[] exact;
+        private final Template[] exactForms;
+        private final Template other;
+        final boolean hasLangRefs;
+        final boolean hasExternal;
+
+        private Choice(PluralRules rules, String[] keys, Template[] forms, long[] exact, Template[] exactForms,
+                       Template other) {
+            this.rules = rules;
+            this.keys = keys;
+            this.forms = forms;
+            this.exact = exact;
+            this.exactForms = exactForms;
+            this.other = other;
+            boolean refs = false, external = false;
+            for (Template form : forms) {
+                refs |= form.hasLangRefs;
+                external |= form.hasExternal;
+            }
+            for (Template form : exactForms) {
+                refs |= form.hasLangRefs;
+                external |= form.hasExternal;
+            }
+            this.hasLangRefs = refs;
+            this.hasExternal = external;
+        }
+
+        /**
+         * @param rules Plural rules of the language, or null for a select slot.
+         * @return The choice, or null if a selector is invalid or {@code other} is missing.
+         */
+        static Choice of(PluralRules rules, List<String> selectors, List<Template> forms) {
+            int otherIndex = selectors.indexOf("other");
+            if (otherIndex == -1) {
+                return null;
+            }
+            Template other = forms.get(otherIndex);
+            if (rules == null) {
+                return new Choice(null, selectors.toArray(new String[0]), forms.toArray(new Template[0]),
+                        new long[0], new Template[0], other);
+            }
+            Template[] byCategory = new Template[PluralRules.OTHER + 1];
+            List<Template> exactForms = new ArrayList<>();
+            long[] exact = new long[selectors.size()];
+            for (int i = 0; i < selectors.size(); i++) {
+                String selector = selectors.get(i);
+                if (selector.charAt(0) == '=') {
+                    try {
+                        exact[exactForms.size()] = Long.parseLong(selector.substring(1).trim());
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                    exactForms.add(forms.get(i));
+                    continue;
+                }
+                int category = PluralRules.category(selector);
+                if (category == -1) {
+                    return null;
+                }
+                byCategory[category] = forms.get(i);
+            }
+            for (int i = 0; i < byCategory.length; i++) {
+                if (byCategory[i] == null) {
+                    byCategory[i] = other;
+                }
+            }
+            return new Choice(rules, null, byCategory, Arrays.copyOf(exact, exactForms.size()),
+                    exactForms.toArray(new Template[0]), other);
+        }
+
+        /**
+         * Picks the form for a value given as text. Plural slots fall back to {@code other}
+         * for values that aren't numbers.
+         */
+        public Template select(String value) {
+            if (rules == null) {
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i].equals(value)) {
+                        return forms[i];
+                    }
+                }
+                return other;
+            }
+            String trimmed = value.trim();
+            try {
+                if (trimmed.indexOf('.') == -1 && trimmed.indexOf('e') == -1 && trimmed.indexOf('E') == -1) {
+                    return select(Long.parseLong(trimmed));
+                }
+                return select(Double.parseDouble(trimmed));
+            } catch (NumberFormatException e) {
+                return other;
+            }
+        }
+
+        public Template select(long value) {
+            if (rules == null) {
+                return select(String.valueOf(value));
+            }
+            for (int i = 0; i < exact.length; i++) {
+                if (exact[i] == value) {
+                    return exactForms[i];
+                }
+            }
+            return forms[rules.select(value)];
+        }
+
+        public Template select(double value) {
+            if (rules == null) {
+                return select(String.valueOf(value));
+            }
+            for (int i = 0; i < exact.length; i++) {
+                if (exact[i] == value) {
+                    return exactForms[i];
+                }
+            }
+            return forms[rules.select(value)];
+        }
+    }
+
+    private static void addLiteral(List<Segment> segments, String source, int from, int to) {
+        if (to > from) {
+            segments.add(new Segment(LITERAL, source.substring(from, to), -1, null, null, null));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package me.icegames.iglanguages.translation;
+
+/**
+ * Resolved handle to a translation key.
+ * <p>
+ * Hot callers obtain a handle once (see {@code LangManager#getKey}) and reuse it;
+ * the handle remembers its dense key ID for the snapshot it was last used with,
+ * so a render only costs an array read. After a reload the ID is re-resolved
+ * transparently on first use.
+ */
+public final class TranslationKey {
+
+    private static final long UNBOUND = -1L;
+
+    private final String name;
+    // generation << 32 | key id, so both are published with a single volatile write
+    private volatile long binding = UNBOUND;
+    // Binding prepared off-thread for a snapshot that is about to be published
+    private volatile long pending = UNBOUND;
+
+    public TranslationKey(String name) {
+        this.name = KeyIndex.normalize(name);
+    }
+
+    /**
+     * The normalized (lower-cased) key name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the key ID in {@code snapshot}, or -1 if the key doesn't exist there.
+     */
+    public int id(TranslationSnapshot snapshot) {
+        int generation = snapshot.getGeneration();
+        long current = binding;
+        if (current != UNBOUND && (int) (current >>> 32) == generation) {
+            return (int) current;
+        }
+        long prepared = pending;
+        int id = prepared != UNBOUND && (int) (prepared >>> 32) == generation
+                ? (int) prepared
+                : snapshot.getKeys().id(name);
+        binding = pack(generation, id);
+        return id;
+    }
+
+    /**
+     * Resolves this key against a snapshot that hasn't been published yet, so the
+     * first lookup after the swap doesn't have to hash the key again.
+     */
+    public void prepare(TranslationSnapshot next) {
+        pending = pack(next.getGeneration(), next.getKeys().id(name));
+    }
+
+    private static long pack(int generation, int id) {
+        return ((long) generation << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
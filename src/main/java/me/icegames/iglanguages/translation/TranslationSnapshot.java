@@ -0,0 +1,334 @@
+package me.icegames.iglanguages.translation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable view of every loaded translation.
+ * <p>
+ * Keys and language codes are interned to dense integer IDs, and each language
+ * is stored as a flat {@link Template} array indexed by key ID. The default
+ * language is merged into every table at build time, so a lookup is a single
+ * array read and a miss never needs a second lookup.
+ */
+public final class TranslationSnapshot {
+
+    private static final Template[] EMPTY_TABLE = new Template[0];
+    // 64-bit FNV-1a, used to fingerprint template trees
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int generation;
+    private final KeyIndex keys;
+    private final String[] langs;
+    private final Map<String, Integer> langIds;
+    private final Template[][] tables;
+    private final int defaultLangId;
+    private final Map<String, Map<String, String>> raw;
+    private final int translationCount;
+
+    private TranslationSnapshot(int generation, KeyIndex keys, String[] langs, Map<String, Integer> langIds,
+                                Template[][] tables, int defaultLangId, Map<String, Map<String, String>> raw,
+                                int translationCount) {
+        this.generation = generation;
+        this.keys = keys;
+        this.langs = langs;
+        this.langIds = langIds;
+        this.tables = tables;
+        this.defaultLangId = defaultLangId;
+        this.raw = raw;
+        this.translationCount = translationCount;
+    }
+
+    /**
+     * An empty snapshot, used before the first load.
+     */
+    public static TranslationSnapshot empty() {
+        return new TranslationSnapshot(0, new KeyIndex(), new String[0], Collections.emptyMap(),
+                new Template[0][], -1, Collections.emptyMap(), 0);
+    }
+
+    /**
+     * Builds a snapshot from raw and compiled translations.
+     *
+     * @param generation  Monotonic number identifying this snapshot.
+     * @param raw         lang -> (key -> raw value).
+     * @param compiled    lang -> (key -> compiled template).
+     * @param defaultLang Language merged into every table as fallback.
+     */
+    public static TranslationSnapshot build(int generation, Map<String, Map<String, String>> raw,
+                                            Map<String, Map<String, Template>> compiled, String defaultLang) {
+        KeyIndex keys = new KeyIndex();
+        String[] langs = compiled.keySet().toArray(new String[0]);
+        Map<String, Integer> langIds = new HashMap<>();
+        int count = 0;
+        for (int i = 0; i < langs.length; i++) {
+            langIds.put(langs[i], i);
+            for (String key : compiled.get(langs[i]).keySet()) {
+                keys.intern(key);
+            }
+            count += compiled.get(langs[i]).size();
+        }
+
+        Template[][] tables = new Template[langs.length][];
+        for (int i = 0; i < langs.length; i++) {
+            Template[] table = new Template[keys.size()];
+            for (Map.Entry<String, Template> entry : compiled.get(langs[i]).entrySet()) {
+                table[keys.id(entry.getKey())] = entry.getValue();
+            }
+            tables[i] = table;
+        }
+
+        Integer defaultId = defaultLang == null ? null : langIds.get(defaultLang.toLowerCase());
+        if (defaultId != null) {
+            // Merge the default language into every table so a miss never needs a second lookup
+            Template[] defaults = tables[defaultId];
+            for (Template[] table : tables) {
+                for (int id = 0; id < table.length; id++) {
+                    if (table[id] == null) {
+                        table[id] = defaults[id];
+                    }
+                }
+            }
+        }
+        return new TranslationSnapshot(generation, keys, langs, Collections.unmodifiableMap(langIds), tables,
+                defaultId == null ? -1 : defaultId, Collections.unmodifiableMap(raw), count);
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public KeyIndex getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the ID of a language code, or -1 if it isn't loaded.
+     */
+    public int langId(String lang) {
+        if (lang == null) {
+            return -1;
+        }
+        Integer id = langIds.get(lang);
+        return id == null ? -1 : id;
+    }
+
+    public String langCode(int langId) {
+        return langs[langId];
+    }
+
+    public int getDefaultLangId() {
+        return defaultLangId;
+    }
+
+    /**
+     * Returns the table for a language, or the default language table if it isn't loaded.
+     */
+    public Template[] table(String lang) {
+        return table(langId(lang));
+    }
+
+    public Template[] table(int langId) {
+        if (langId < 0) {
+            langId = defaultLangId;
+        }
+        return langId < 0 ? EMPTY_TABLE : tables[langId];
+    }
+
+    /**
+     * Looks up a template with the default-language fallback already applied.
+     */
+    public Template get(String lang, TranslationKey key) {
+        int id = key.id(this);
+        if (id < 0) {
+            return null;
+        }
+        Template[] table = table(lang);
+        return id < table.length ? table[id] : null;
+    }
+
+    /**
+     * Looks up a template by key name (case-insensitive).
+     */
+    public Template get(String lang, String key) {
+        return get(lang, key, 0, key.length());
+    }
+
+    /**
+     * Looks up a template by the key stored in {@code key[start, end)}, without allocating.
+     */
+    public Template get(String lang, CharSequence key, int start, int end) {
+        int id = keys.id(key, start, end);
+        if (id < 0) {
+            return null;
+        }
+        Template[] table = table(lang);
+        return id < table.length ? table[id] : null;
+    }
+
+    public List<String> getLangs() {
+        List<String> list = new ArrayList<>(langs.length);
+        Collections.addAll(list, langs);
+        return list;
+    }
+
+    /**
+     * Raw (uncolorized) translations, lang -> (key -> value).
+     */
+    public Map<String, Map<String, String>> getRaw() {
+        return raw;
+    }
+
+    /**
+     * Computes which (language, key) pairs render differently than in {@code previous}.
+     * <p>
+     * Templates are compared by identity with the default-language fallback applied, so
+     * translations loaded from unchanged files never count as changed. Keys whose
+     * templates reference a changed key through %lang_*% are included as well.
+     *
+     * @return lang -> changed keys; languages without changes are omitted.
+     */
+    public Map<String, Set<String>> diff(TranslationSnapshot previous) {
+        Map<String, Set<String>> changed = new HashMap<>();
+        Set<String> allLangs = new HashSet<>(langIds.keySet());
+        allLangs.addAll(previous.langIds.keySet());
+        for (String lang : allLangs) {
+            Set<String> keysChanged = new HashSet<>();
+            Template[] table = langIds.containsKey(lang) ? table(lang) : EMPTY_TABLE;
+            for (int id = 0; id < table.length; id++) {
+                if (table[id] != previous.get(lang, keys.name(id))) {
+                    keysChanged.add(keys.name(id));
+                }
+            }
+            Template[] oldTable = previous.langIds.containsKey(lang) ? previous.table(lang) : EMPTY_TABLE;
+            for (int id = 0; id < oldTable.length; id++) {
+                if (oldTable[id] != null && (table == EMPTY_TABLE || keys.id(previous.keys.name(id)) == -1)) {
+                    keysChanged.add(previous.keys.name(id));
+                }
+            }
+            if (!keysChanged.isEmpty()) {
+                addDependents(table, keysChanged);
+                changed.put(lang, keysChanged);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Adds keys whose templates reference any key in {@code changed}, until nothing new is found.
+     */
+    private void addDependents(Template[] table, Set<String> changed) {
+        boolean grew = true;
+        while (grew) {
+            grew = false;
+            for (int id = 0; id < table.length; id++) {
+                Template template = table[id];
+                if (template == null || !template.hasLangRefs() || changed.contains(keys.name(id))) {
+                    continue;
+                }
+                for (Template.Segment segment : template.getSegments()) {
+                    if (segment.type == Template.LANG_REF
+                            && (segment.refKey == null || segment.inner != null || changed.contains(segment.refKey))) {
+                        changed.add(keys.name(id));
+                        grew = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fingerprints a template together with every template it pulls in through %lang_*%
+     * in {@code lang}, following references the same way rendering does. Two renders of
+     * templates with equal fingerprints produce the same text for the same player.
+     *
+     * @param maxDepth Reference depth at which rendering stops resolving.
+     * @return The fingerprint, or 0 if a reference is built from arguments and can't be followed.
+     */
+    public long fingerprint(String lang, Template template, int maxDepth) {
+        long hash = fingerprint(lang, template, 0, maxDepth, FNV_OFFSET);
+        return hash == 0 ? 1 : hash;
+    }
+
+    private long fingerprint(String lang, Template template, int depth, int maxDepth, long hash) {
+        hash = mix(hash, template.getSource());
+        if (!template.hasLangRefs()) {
+            return hash;
+        }
+        for (Template.Segment segment : template.getSegments()) {
+            if (segment.type != Template.LANG_REF) {
+                continue;
+            }
+            if (segment.inner != null) {
+                return 0;
+            }
+            Template nested = depth < maxDepth ? get(lang, segment.refKey) : null;
+            if (nested == null) {
+                hash = mix(hash * FNV_PRIME, segment.refKey);
+            } else {
+                hash = fingerprint(lang, nested, depth + 1, maxDepth, hash * FNV_PRIME + 1);
+                if (hash == 0) {
+                    return 0;
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ text.length()) * FNV_PRIME;
+    }
+
+    /**
+     * True if rendering the template in {@code lang} never consults a player: no external
+     * placeholders anywhere in its reference tree, and no reference arguments that could
+     * carry placeholders. Such templates can be rendered off the main thread.
+     */
+    public boolean isPlayerIndependent(String lang, Template template, int maxDepth) {
+        return isPlayerIndependent(lang, template, 0, maxDepth);
+    }
+
+    private boolean isPlayerIndependent(String lang, Template template, int depth, int maxDepth) {
+        if (template.hasExternal()) {
+            return false;
+        }
+        if (!template.hasLangRefs()) {
+            return true;
+        }
+        for (Template.Segment segment : template.getSegments()) {
+            if (segment.type != Template.LANG_REF) {
+                continue;
+            }
+            if (segment.inner != null) {
+                return false;
+            }
+            for (String arg : segment.refArgs) {
+                if (arg.indexOf('%') != -1 || arg.indexOf('{') != -1) {
+                    return false;
+                }
+            }
+            Template nested = depth < maxDepth ? get(lang, segment.refKey) : null;
+            if (nested != null && !isPlayerIndependent(lang, nested, depth + 1, maxDepth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of translations defined across all languages, not counting fallbacks.
+     */
+    public int getTranslationCount() {
+        return translationCount;
+    }
+}
@@ -0,0 +1,84 @@
+package me.icegames.iglanguages.util;
+
+/**
+ * Escapes text for embedding inside a JSON string literal.
+ * <p>
+ * Produces the same output as Gson's default (HTML-safe) string escaping,
+ * without the surrounding quotes, so translations can be escaped once at load
+ * time instead of running Gson for every replacement.
+ */
+public final class JsonUtil {
+
+    private static final String[] REPLACEMENTS = new String[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            REPLACEMENTS[c] = String.format("\\u%04x", c);
+        }
+        REPLACEMENTS['"'] = "\\\"";
+        REPLACEMENTS['\\'] = "\\\\";
+        REPLACEMENTS['\t'] = "\\t";
+        REPLACEMENTS['\b'] = "\\b";
+        REPLACEMENTS['\n'] = "\\n";
+        REPLACEMENTS['\r'] = "\\r";
+        REPLACEMENTS['\f'] = "\\f";
+        REPLACEMENTS['<'] = "\\u003c";
+        REPLACEMENTS['>'] = "\\u003e";
+        REPLACEMENTS['&'] = "\\u0026";
+        REPLACEMENTS['='] = "\\u003d";
+        REPLACEMENTS['\''] = "\\u0027";
+    }
+
+    private JsonUtil() {
+    }
+
+    /**
+     * Returns {@code text} escaped for a JSON string, or the same instance if nothing needs escaping.
+     */
+    public static String escape(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (needsEscape(text.charAt(i))) {
+                StringBuilder out = new StringBuilder(length + 16);
+                out.append(text, 0, i);
+                appendEscaped(out, text, i, length);
+                return out.toString();
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Appends {@code text} escaped for a JSON string.
+     */
+    public static void appendEscaped(StringBuilder out, String text) {
+        appendEscaped(out, text, 0, text.length());
+    }
+
+    private static void appendEscaped(StringBuilder out, String text, int from, int to) {
+        int last = from;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            String replacement;
+            if (c < 128) {
+                replacement = REPLACEMENTS[c];
+            } else if (c == '\u2028') {
+                replacement = "\\u2028";
+            } else if (c == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+            if (replacement == null) {
+                continue;
+            }
+            out.append(text, last, i).append(replacement);
+            last = i + 1;
+        }
+        out.append(text, last, to);
+    }
+
+    private static boolean needsEscape(char c) {
+        return c < 128 ? REPLACEMENTS[c] != null : c == '\u2028' || c == '\u2029';
+    }
+}
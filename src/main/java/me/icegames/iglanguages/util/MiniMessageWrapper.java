@@ -53,7 +53,7 @@ public class MiniMessageWrapper {
      *         MiniMessage is unavailable.
      */
     public static String tryParse(String message) {
-        if (!IS_AVAILABLE || message == null) {
+        if (!IS_AVAILABLE || message == null || !mightContainTags(message)) {
             return null;
         }
 
@@ -64,4 +64,25 @@ public class MiniMessageWrapper {
             return null;
         }
     }
+
+    /**
+     * Cheap pre-scan for anything MiniMessage could turn into formatting: a '<'
+     * followed by a tag-name character, '/', '#' or '!', and a later '>'.
+     * Plain legacy strings such as "&aHello" never reach the parser.
+     *
+     * @param message The raw message string.
+     * @return true if the message may contain a MiniMessage tag.
+     */
+    public static boolean mightContainTags(String message) {
+        int open = message.indexOf('<');
+        while (open != -1 && open + 1 < message.length()) {
+            char next = message.charAt(open + 1);
+            if ((next >= 'a' && next <= 'z') || (next >= 'A' && next <= 'Z') || next == '/' || next == '#'
+                    || next == '!' || next == '_') {
+                return message.indexOf('>', open + 2) != -1;
+            }
+            open = message.indexOf('<', open + 1);
+        }
+        return false;
+    }
 }
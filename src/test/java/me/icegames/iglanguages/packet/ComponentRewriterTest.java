@@ -0,0 +1,102 @@
+package me.icegames.iglanguages.packet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link ComponentRewriter} must give the same result as the {@code %lang_([^%]+)%} regex it
+ * replaced wherever the placeholders sit in component text, and leave the JSON intact where
+ * the regex would have corrupted it.
+ */
+class ComponentRewriterTest {
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%lang_([^%]+)%");
+
+    private static final ComponentRewriter.Translator TRANSLATOR =
+            key -> key.startsWith("missing") ? null : "<" + key.toUpperCase() + ">";
+
+    /**
+     * The previous implementation.
+     */
+    private static String regexRewrite(String input) {
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(input);
+        StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            String translation = TRANSLATOR.translate(matcher.group(1));
+            if (translation != null) {
+                matcher.appendReplacement(sb, Matcher.quoteReplacement(translation));
+            }
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    @Test
+    void matchesRegexOnComponentText() {
+        String[] payloads = {
+                // Chat
+                "{\"text\":\"%lang_welcome%\"}",
+                "{\"extra\":[{\"color\":\"gold\",\"text\":\"[Shop] \"},{\"text\":\"%lang_shop_open:Steve,5%\"}],\"text\":\"\"}",
+                "{\"translate\":\"%lang_death_message%\",\"with\":[{\"text\":\"Steve\"},\"%lang_mob_zombie%\"]}",
+                "{\"text\":\"Say \\\"%lang_quoted%\\\" twice: %lang_quoted%%lang_quoted%\"}",
+                "{\"text\":\"%lang_missing_key% and %lang_known%\"}",
+                "{\"text\":\"100% sure, %lang_% empty, %%lang_odd%\"}",
+                "\"%lang_bare_root%\"",
+                // Hover text given as a bare string component
+                "{\"text\":\"%lang_item%\",\"hoverEvent\":{\"action\":\"show_text\",\"contents\":\"%lang_hover%\"}}",
+                // Tab header
+                "{\"extra\":[{\"bold\":true,\"color\":\"aqua\",\"text\":\"%lang_tab_title%\\n\"},"
+                        + "{\"color\":\"gray\",\"text\":\"%lang_tab_online:42% | %lang_tab_ping:17%\\n\"},"
+                        + "{\"color\":\"yellow\",\"text\":\"%lang_tab_footer%\"}],\"text\":\"\"}",
+                // Scoreboard
+                "{\"text\":\"%lang_sidebar_title%\",\"color\":\"gold\",\"bold\":true}",
+                "{\"text\":\"No placeholders here\",\"color\":\"green\"}",
+                // Whitespace between tokens
+                "{ \"text\" : \"%lang_spaced%\" , \"extra\" : [ \"%lang_element%\" ] }",
+        };
+        for (String payload : payloads) {
+            assertEquals(regexRewrite(payload), ComponentRewriter.rewriteJson(payload, TRANSLATOR), payload);
+        }
+    }
+
+    @Test
+    void leavesKeysAndOtherStringsIntact() {
+        // The regex matched across the closing quote and rewrote JSON structure
+        String spanning = "{\"text\":\"%lang_a\",\"extra\":[{\"text\":\"b%\"}]}";
+        assertSame(spanning, ComponentRewriter.rewriteJson(spanning, TRANSLATOR));
+
+        String inKey = "{\"%lang_key%\":\"value\"}";
+        assertSame(inKey, ComponentRewriter.rewriteJson(inKey, TRANSLATOR));
+
+        String inClick = "{\"text\":\"a\",\"clickEvent\":{\"action\":\"run_command\",\"value\":\"/say %lang_x%\"}}";
+        assertSame(inClick, ComponentRewriter.rewriteJson(inClick, TRANSLATOR));
+    }
+
+    @Test
+    void returnsInputWhenNothingChanged() {
+        String json = "{\"text\":\"%lang_missing_a% %lang_missing_b%\"}";
+        assertSame(json, ComponentRewriter.rewriteJson(json, TRANSLATOR));
+        String text = "no placeholders";
+        assertSame(text, ComponentRewriter.rewriteText(text, TRANSLATOR));
+    }
+
+    @Test
+    void matchesRegexOnRandomPlainText() {
+        String[] pieces = {"%", "%lang_", "a", "b_c", "missing", ":", ",", " ", "§a", "lang_"};
+        Random random = new Random(7);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(12); i > 0; i--) {
+                text.append(pieces[random.nextInt(pieces.length)]);
+            }
+            String input = text.toString();
+            assertEquals(regexRewrite(input), ComponentRewriter.rewriteText(input, TRANSLATOR), input);
+        }
+    }
+}
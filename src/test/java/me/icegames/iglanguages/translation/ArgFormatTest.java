@@ -0,0 +1,137 @@
+package me.icegames.iglanguages.translation;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArgFormatTest {
+
+    private static String render(String source, String lang, String... args) {
+        return Template.compile(source, ArgFormat.localeOf(lang)).render(args, null);
+    }
+
+    private static String render(String source, String lang, long... values) {
+        return Template.compile(source, ArgFormat.localeOf(lang)).render(values, null);
+    }
+
+    // Some JDKs put a no-break space between the currency symbol and the amount
+    private static String spaces(String text) {
+        return text.replace('\u00a0', ' ').replace('\u202f', ' ');
+    }
+
+    @Test
+    void numbers() {
+        assertEquals("1,234,567.89", render("{0,number}", "en_us", "1234567.89"));
+        assertEquals("1.234.567,89", render("{0,number}", "pt_br", "1234567.89"));
+        assertEquals("93,784", render("{0,number}", "en_us", 93784L));
+        assertEquals("93.784", render("{0,number}", "pt_br", 93784L));
+        assertEquals("1.235", render("{0,number,integer}", "pt_br", "1234.6"));
+        assertEquals("25%", render("{0,number,percent}", "en_us", "0.25"));
+    }
+
+    @Test
+    void currency() {
+        assertEquals("$1,234.50", spaces(render("{0,number,currency}", "en_us", "1234.5")));
+        assertEquals("R$ 1.234,50", spaces(render("{0,number,currency}", "pt_br", "1234.5")));
+    }
+
+    @Test
+    void durationInSeconds() {
+        assertEquals("0:05", render("{1,duration}", "en_us", "x", "5"));
+        assertEquals("20:34", render("{1,duration}", "en_us", "x", "1234"));
+        assertEquals("1d 2:03:04", render("{1,duration}", "pt_br", "x", "93784"));
+        assertEquals("-1:01", render("{1,duration}", "en_us", "x", "-61"));
+    }
+
+    @Test
+    void shortDatesReuseOneDatePerThread() {
+        long first = 1_700_000_000_000L;
+        long second = 1_000_000_000_000L;
+        for (String lang : new String[]{"en_us", "pt_br"}) {
+            Locale locale = ArgFormat.localeOf(lang);
+            DateFormat expected = DateFormat.getDateInstance(DateFormat.SHORT, locale);
+            Template template = Template.compile("{2,date,short}", locale);
+            // The formatter's Date is reused, so consecutive renders must not leak into each other
+            assertEquals(expected.format(new Date(first)), template.render(new long[]{0, 0, first}, null), lang);
+            assertEquals(expected.format(new Date(second)), template.render(new long[]{0, 0, second}, null), lang);
+            assertEquals(expected.format(new Date(first)),
+                    template.render(new String[]{"", "", String.valueOf(first)}, null), lang);
+        }
+    }
+
+    @Test
+    void formattersArePerThread() throws Exception {
+        Locale locale = ArgFormat.localeOf("pt_br");
+        Template template = Template.compile("{0,number} {1,date,short}", locale);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long offset = t * 400 * 86_400_000L;
+                results.add(pool.submit(() -> {
+                    DateFormat dates = DateFormat.getDateInstance(DateFormat.SHORT, locale);
+                    for (int i = 0; i < 2_000; i++) {
+                        long value = 1_000_000L + i;
+                        long millis = offset + i * 86_400_000L;
+                        String expected = render("{0,number}", "pt_br", value) + " " + dates.format(new Date(millis));
+                        assertEquals(expected, template.render(new long[]{value, millis}, null));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void unknownStylesStayLiteral() {
+        assertEquals("{0,number,weird}", render("{0,number,weird}", "en_us", "5"));
+        assertEquals("{0,date,tiny}", render("{0,date,tiny}", "en_us", "5"));
+        assertEquals("{0,duration,long}", render("{0,duration,long}", "en_us", "5"));
+        assertEquals("{0,color}", render("{0,color}", "en_us", "5"));
+    }
+
+    @Test
+    void nonNumericValuesAreKept() {
+        assertEquals("abc", render("{0,number}", "en_us", "abc"));
+        assertEquals("soon", render("{0,duration}", "pt_br", "soon"));
+    }
+
+    @Test
+    void typedOverloadsMatchTheStringPath() {
+        String[] sources = {
+                "{0} {1}",
+                "{0,number} / {1,number,integer}",
+                "{0,number,currency} in {1,duration}",
+                "{0,number,percent}, {1,date,short}",
+                "{0,plural,one{# coin} other{# coins}} ({1,number})",
+        };
+        long[][] longs = {{0, 1}, {1, 93_784}, {1_234_567, 1_700_000_000_000L}, {-5, 42}};
+        double[][] doubles = {{0.5, 2.25}, {1.0, 1234.5}, {-3.75, 100.0}};
+        for (String lang : new String[]{"en_us", "pt_br"}) {
+            for (String source : sources) {
+                Template template = Template.compile(source, ArgFormat.localeOf(lang));
+                for (long[] values : longs) {
+                    String[] boxed = {String.valueOf(values[0]), String.valueOf(values[1])};
+                    assertEquals(template.render(boxed, null), template.render(values, null), lang + " " + source);
+                }
+                for (double[] values : doubles) {
+                    String[] boxed = {String.valueOf(values[0]), String.valueOf(values[1])};
+                    assertEquals(template.render(boxed, null), template.render(values, null), lang + " " + source);
+                }
+            }
+        }
+    }
+}
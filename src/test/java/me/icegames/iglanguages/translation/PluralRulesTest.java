@@ -0,0 +1,88 @@
+package me.icegames.iglanguages.translation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static me.icegames.iglanguages.translation.PluralRules.FEW;
+import static me.icegames.iglanguages.translation.PluralRules.MANY;
+import static me.icegames.iglanguages.translation.PluralRules.ONE;
+import static me.icegames.iglanguages.translation.PluralRules.OTHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PluralRulesTest {
+
+    private static final long[] SAMPLES = {0, 1, 2, 5, 11, 21, 101, 111, 1000001};
+
+    private static void assertCategories(String lang, int... expected) {
+        PluralRules rules = PluralRules.forLocale(ArgFormat.localeOf(lang));
+        for (int i = 0; i < SAMPLES.length; i++) {
+            assertEquals(expected[i], rules.select(SAMPLES[i]), lang + " " + SAMPLES[i]);
+        }
+    }
+
+    @Test
+    void english() {
+        assertCategories("en", OTHER, ONE, OTHER, OTHER, OTHER, OTHER, OTHER, OTHER, OTHER);
+    }
+
+    @Test
+    void brazilianPortuguese() {
+        assertCategories("pt_br", ONE, ONE, OTHER, OTHER, OTHER, OTHER, OTHER, OTHER, OTHER);
+    }
+
+    @Test
+    void russian() {
+        assertCategories("ru", MANY, ONE, FEW, MANY, MANY, ONE, ONE, MANY, ONE);
+    }
+
+    @Test
+    void polish() {
+        assertCategories("pl", MANY, ONE, FEW, MANY, MANY, MANY, MANY, MANY, MANY);
+    }
+
+    @Test
+    void largeNumbersFoldOntoTheTable() {
+        // n >= 200 is looked up as 100 + n % 100, so 111 and 1000011 must agree, as must 22 and 1000022
+        PluralRules ru = PluralRules.forLocale(new Locale("ru"));
+        for (long n = 100; n < 200; n++) {
+            assertEquals(ru.select(n), ru.select(1_000_000 + n), "ru " + n);
+            assertEquals(ru.select(n), ru.select(200 + n), "ru " + (200 + n));
+        }
+        assertEquals(FEW, ru.select(1_000_022L));
+        assertEquals(MANY, ru.select(1_000_012L));
+        assertEquals(ONE, ru.select(-21));
+    }
+
+    @Test
+    void frenchAndPortugueseHaveManyForMillions() {
+        for (String lang : new String[]{"fr", "pt_br"}) {
+            PluralRules rules = PluralRules.forLocale(ArgFormat.localeOf(lang));
+            assertEquals(MANY, rules.select(1_000_000L), lang);
+            assertEquals(MANY, rules.select(3_000_000L), lang);
+            assertEquals(OTHER, rules.select(1_000_001L), lang);
+            assertEquals(OTHER, rules.select(1_500_000.5), lang);
+            assertEquals(OTHER, rules.select(200L), lang);
+        }
+    }
+
+    @Test
+    void fractionsUseTheRule() {
+        assertEquals(OTHER, PluralRules.forLocale(Locale.ENGLISH).select(1.5));
+        assertEquals(ONE, PluralRules.forLocale(Locale.ENGLISH).select(1.0));
+        assertEquals(OTHER, PluralRules.forLocale(new Locale("ru")).select(2.5));
+    }
+
+    @Test
+    void rulesAreSharedPerLanguage() {
+        assertSame(PluralRules.forLocale(new Locale("pt", "BR")), PluralRules.forLocale(new Locale("pt", "PT")));
+    }
+
+    @Test
+    void categoryNames() {
+        assertEquals(ONE, PluralRules.category("one"));
+        assertEquals(OTHER, PluralRules.category("other"));
+        assertEquals(-1, PluralRules.category("several"));
+    }
+}
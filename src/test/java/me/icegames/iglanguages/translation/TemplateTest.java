@@ -0,0 +1,87 @@
+package me.icegames.iglanguages.translation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TemplateTest {
+
+    private static String render(String source, String lang, String... args) {
+        return Template.compile(source, ArgFormat.localeOf(lang)).render(args, null);
+    }
+
+    @Test
+    void plainSlots() {
+        assertEquals("§aHello Steve!", render("§aHello {0}!", "en", "Steve"));
+        assertEquals("Hello {1}", render("Hello {1}", "en", "Steve"));
+    }
+
+    @Test
+    void pluralPicksTheLanguageCategory() {
+        String items = "{0,plural,one{# item} other{# items}}";
+        assertEquals("1 item", render(items, "en", "1"));
+        assertEquals("0 items", render(items, "en", "0"));
+        assertEquals("0 item", render(items, "pt_br", "0"));
+
+        String apples = "{0,plural,one{# яблоко} few{# яблока} many{# яблок} other{# яблока}}";
+        assertEquals("1 яблоко", render(apples, "ru", "1"));
+        assertEquals("3 яблока", render(apples, "ru", "3"));
+        assertEquals("11 яблок", render(apples, "ru", "11"));
+        assertEquals("21 яблоко", render(apples, "ru", "21"));
+        assertEquals("2,5 яблока", render(apples, "ru", "2.5"));
+    }
+
+    @Test
+    void hashIsTheNumberFormattedForTheLanguage() {
+        String items = "{0,plural,one{# item} other{# items}}";
+        assertEquals("1,000 items", render(items, "en", "1000"));
+        assertEquals("1.000 items", render(items, "pt_br", "1000"));
+        assertEquals("1,000 items", Template.compile(items, Locale.ENGLISH).render(new long[]{1000}, null));
+    }
+
+    @Test
+    void exactMatchWinsOverCategory() {
+        String items = "{0,plural,=0{no items} one{# item} other{# items}}";
+        assertEquals("no items", render(items, "en", "0"));
+        assertEquals("1 item", render(items, "en", "1"));
+    }
+
+    @Test
+    void nestedSlotsInsideForms() {
+        String owns = "{0,plural,=0{{1} has nothing} one{{1} has # item} other{{1} has # items}}";
+        assertEquals("Steve has nothing", render(owns, "en", "0", "Steve"));
+        assertEquals("Steve has 2 items", render(owns, "en", "2", "Steve"));
+        assertEquals("[Steve has 1 item]", render("[" + owns + "]", "en", "1", "Steve"));
+    }
+
+    @Test
+    void selectFallsBackToOther() {
+        String pronoun = "{0,select,male{He} female{She} other{They}} joined";
+        assertEquals("She joined", render(pronoun, "en", "female"));
+        assertEquals("They joined", render(pronoun, "en", "unknown"));
+        assertEquals("They joined", render(pronoun, "en", ""));
+    }
+
+    @Test
+    void pluralFallsBackToOtherForMissingCategories() {
+        // ru 5 is "many", which this body doesn't define
+        assertEquals("5 items", render("{0,plural,one{# item} other{# items}}", "ru", "5"));
+        assertEquals("abc items", render("{0,plural,one{# item} other{# items}}", "en", "abc"));
+    }
+
+    @Test
+    void malformedBodiesStayLiteral() {
+        String[] malformed = {
+                "{0,plural,one{# item}}",                 // no other
+                "{0,plural,one{# item} other{# items}",   // unclosed
+                "{0,plural,one # item other{x}}",         // selector without braces
+                "{0,plural,bogus{x} other{y}}",           // unknown category
+                "{0,plural,=x{x} other{y}}",              // bad exact value
+        };
+        for (String source : malformed) {
+            assertEquals(source, render(source, "en", "1"), source);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package me.icegames.iglanguages.translation;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budget of the cache-hit path: looking up a compiled template by a mixed-case
+ * key and rendering it into a reused builder must not allocate. Measurements are taken
+ * relative to an empty loop, so the cost of reading the allocation counter cancels out.
+ */
+class TranslationLookupAllocationTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 10_000;
+    // Net of the empty-loop baseline the path measures 0 bytes. The slack only absorbs a stray
+    // runtime allocation (e.g. during a JIT deoptimization); the smallest object is 16 bytes,
+    // so even one allocation per 100 calls (1600 bytes) fails.
+    private static final long SLACK_BYTES = 256;
+
+    private static TranslationSnapshot snapshot() {
+        Map<String, Map<String, String>> raw = new HashMap<>();
+        Map<String, Map<String, Template>> compiled = new HashMap<>();
+        for (String lang : new String[]{"en", "pt_br"}) {
+            raw.put(lang, new HashMap<>());
+            compiled.put(lang, new HashMap<>());
+        }
+        put(raw, compiled, "en", "welcome_message", "§aHello {0}, welcome to {1}!");
+        put(raw, compiled, "en", "menu_title", "§6Main menu");
+        put(raw, compiled, "pt_br", "welcome_message", "§aOla {0}, bem-vindo ao {1}!");
+        return TranslationSnapshot.build(1, raw, compiled, "en");
+    }
+
+    private static void put(Map<String, Map<String, String>> raw, Map<String, Map<String, Template>> compiled,
+                            String lang, String key, String value) {
+        raw.get(lang).put(key, value);
+        compiled.get(lang).put(key, Template.compile(value));
+    }
+
+    @Test
+    void cachedLookupAndRenderDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        TranslationSnapshot snapshot = snapshot();
+        String[] args = {"Steve", "IceGames"};
+        StringBuilder out = new StringBuilder(256);
+
+        render(snapshot, "pt_br", "Welcome_Message", args, out);
+        assertEquals("§aOla Steve, bem-vindo ao IceGames!", out.toString());
+        render(snapshot, "pt_br", "MENU_TITLE", args, out);
+        assertEquals("§6Main menu", out.toString());
+
+        Runnable body = () -> render(snapshot, "pt_br", "Welcome_Message", args, out);
+        long allocated = allocatedBy(threads, body) - allocatedBy(threads, () -> { });
+
+        assertTrue(allocated <= SLACK_BYTES, "allocated " + allocated + " bytes over " + ITERATIONS + " renders");
+    }
+
+    @Test
+    void keyEmbeddedInArgsIsFoundWithoutAllocating() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        TranslationSnapshot snapshot = snapshot();
+        String placeholder = "Welcome_Message:Steve,IceGames";
+        int colon = placeholder.indexOf(':');
+        assertNotNull(snapshot.get("en", placeholder, 0, colon));
+
+        int[] found = new int[1];
+        Runnable body = () -> {
+            if (snapshot.get("en", placeholder, 0, colon) != null) {
+                found[0]++;
+            }
+        };
+        long allocated = allocatedBy(threads, body) - allocatedBy(threads, () -> { });
+
+        assertEquals(WARMUP + ITERATIONS, found[0]);
+        assertTrue(allocated <= SLACK_BYTES, "allocated " + allocated + " bytes over " + ITERATIONS + " lookups");
+    }
+
+    /**
+     * Warms {@code body} up, then returns the bytes this thread allocated while running it
+     * {@link #ITERATIONS} times, including the fixed cost of reading the counter.
+     */
+    private static long allocatedBy(com.sun.management.ThreadMXBean threads, Runnable body) {
+        for (int i = 0; i < WARMUP; i++) {
+            body.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            body.run();
+        }
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+
+    private static void render(TranslationSnapshot snapshot, String lang, String key, String[] args,
+                               StringBuilder out) {
+        out.setLength(0);
+        snapshot.get(lang, key).appendTo(out, args, null, 0);
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "per-thread allocation counters unavailable");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counters unsupported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
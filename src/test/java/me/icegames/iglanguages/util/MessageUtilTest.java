@@ -0,0 +1,84 @@
+package me.icegames.iglanguages.util;
+
+import org.bukkit.ChatColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link MessageUtil#translateColors(String)} must give the same result as the regex
+ * implementation it replaced.
+ */
+class MessageUtilTest {
+
+    private static final Pattern HEX_PATTERN = Pattern.compile("(?:&\\{#|<#|\\{#|&#|#)([A-Fa-f0-9]{6})(?:\\}|>|)");
+
+    /**
+     * The previous implementation: hex patterns via regex, then '&' codes via Bukkit.
+     */
+    private static String regexColorize(String message) {
+        Matcher matcher = HEX_PATTERN.matcher(message);
+        StringBuffer buffer = new StringBuffer();
+        while (matcher.find()) {
+            String hexCode = matcher.group(1);
+            StringBuilder replacement = new StringBuilder("§x");
+            for (char c : hexCode.toCharArray()) {
+                replacement.append('§').append(c);
+            }
+            matcher.appendReplacement(buffer, replacement.toString());
+        }
+        matcher.appendTail(buffer);
+        return ChatColor.translateAlternateColorCodes('&', buffer.toString());
+    }
+
+    @Test
+    void matchesRegexOnKnownInputs() {
+        String[] inputs = {
+                "",
+                "plain text",
+                "&aGreen &lBold &rReset",
+                "&AUpper &KMagic",
+                "&#FFAA00hex &{#00ff00}braced <#123abc>angle {#ABCDEF}curly #0a0B0cbare",
+                "&#FFAA0 too short, &#GGGGGG not hex",
+                "#12345",
+                "&&a double ampersand",
+                "trailing &",
+                "& space",
+                "&x&#ffffff",
+                "100% &lpure #hashtag",
+                "<#abcdef> stays <b>bold</b>",
+                "&{#abcdef without brace",
+                "{#abcdef}}",
+                "&#abcdef&#123456&c",
+                "Olá &bmundo ✔ &#ff00ffé",
+        };
+        for (String input : inputs) {
+            assertEquals(regexColorize(input), MessageUtil.translateColors(input), input);
+        }
+    }
+
+    @Test
+    void matchesRegexOnRandomInputs() {
+        char[] alphabet = "&#<>{}aAfF09xXkKrlz §%".toCharArray();
+        Random random = new Random(42);
+        for (int n = 0; n < 20_000; n++) {
+            char[] chars = new char[random.nextInt(24)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String input = new String(chars);
+            assertEquals(regexColorize(input), MessageUtil.translateColors(input), input);
+        }
+    }
+
+    @Test
+    void returnsInputWhenNothingToTranslate() {
+        String input = "no colors here, 100% plain";
+        assertSame(input, MessageUtil.translateColors(input));
+    }
+}